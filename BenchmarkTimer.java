@@ -0,0 +1,39 @@
+package com.harshitha.pdfreport.data;
+
+/**
+ * Timing loop shared by the benchmark programs in this package. Warm-up rounds let
+ * the JIT compile the code under test, then the measured rounds are timed one by
+ * one. Every round returns a value that is folded into a volatile field, so the
+ * work cannot be optimized away.
+ */
+final class BenchmarkTimer {
+
+    /**
+     * One round of the operation under test; returns any value derived from the work
+     */
+    interface Round {
+        long run() throws Exception;
+    }
+
+    private static volatile long sink;
+
+    private BenchmarkTimer() {}
+
+    /**
+     * Run the rounds and return the best time per operation in nanoseconds, where
+     * each round performs opsPerRound operations. The best round is the one least
+     * disturbed by garbage collection and other processes.
+     */
+    static double nanosPerOp(int warmupRounds, int rounds, long opsPerRound, Round round) throws Exception {
+        for (int i = 0; i < warmupRounds; i++) {
+            sink += round.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long started = System.nanoTime();
+            sink += round.run();
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return (double) best / opsPerRound;
+    }
+}
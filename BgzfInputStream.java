@@ -0,0 +1,238 @@
+package com.harshitha.pdfreport.data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses block-gzipped (BGZF) input on several threads.
+ * A BGZF file is a series of small gzip members whose compressed size is stored in
+ * each member header, so members can be cut out of the raw stream without inflating
+ * them. Each one is inflated on a worker while later ones are read ahead; the output
+ * is delivered in file order.
+ */
+class BgzfInputStream extends InputStream {
+
+    // Fixed part of a gzip member header up to and including XLEN
+    private static final int HEADER_SIZE = 12;
+    private static final int TRAILER_SIZE = 8;
+    private static final int FLAG_EXTRA = 4;
+    // BSIZE is 16 bits, so no member holds more than this many uncompressed bytes
+    private static final int MAX_BLOCK_SIZE = 65536;
+
+    private final InputStream raw;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    private boolean rawExhausted;
+    private byte[] current = new byte[0];
+    private int position;
+
+    BgzfInputStream(InputStream raw, int parallelism) {
+        this.raw = raw;
+        this.pool = new ForkJoinPool(parallelism);
+        // Enough read-ahead to keep every worker busy while the consumer drains a block
+        this.maxInFlight = parallelism * 4;
+    }
+
+    /**
+     * Check whether the bytes start with a gzip member carrying the BGZF block size field
+     */
+    static boolean isBgzf(byte[] header, int length) {
+        if (length < HEADER_SIZE || !hasMemberHeader(header)) {
+            return false;
+        }
+        int extraLength = readShort(header, 10);
+        return length >= HEADER_SIZE + extraLength && blockSizeField(header, HEADER_SIZE, extraLength) >= 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == current.length && !nextBlock()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == current.length && !nextBlock()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Future<byte[]> future : inFlight) {
+            future.cancel(true);
+        }
+        inFlight.clear();
+        pool.shutdownNow();
+        raw.close();
+    }
+
+    /**
+     * Move to the next non-empty decompressed block; false at end of input
+     */
+    private boolean nextBlock() throws IOException {
+        while (true) {
+            fillPipeline();
+            Future<byte[]> next = inFlight.poll();
+            if (next == null) {
+                return false;
+            }
+            current = await(next);
+            position = 0;
+            if (current.length > 0) {
+                return true; // BGZF ends with an empty marker block
+            }
+        }
+    }
+
+    private void fillPipeline() throws IOException {
+        while (!rawExhausted && inFlight.size() < maxInFlight) {
+            byte[] member = readMember();
+            if (member == null) {
+                rawExhausted = true;
+            } else {
+                inFlight.add(pool.submit(() -> inflate(member)));
+            }
+        }
+    }
+
+    /**
+     * Read one complete gzip member from the raw stream, or null at end of input
+     */
+    private byte[] readMember() throws IOException {
+        byte[] header = raw.readNBytes(HEADER_SIZE);
+        if (header.length == 0) {
+            return null;
+        }
+        if (header.length < HEADER_SIZE || !hasMemberHeader(header)) {
+            throw new ZipException("Not a BGZF block");
+        }
+
+        int extraLength = readShort(header, 10);
+        byte[] extra = raw.readNBytes(extraLength);
+        if (extra.length < extraLength) {
+            throw new EOFException("Truncated BGZF block header");
+        }
+        int blockSize = blockSizeField(extra, 0, extraLength);
+        if (blockSize < 0) {
+            throw new ZipException("gzip member without BGZF block size");
+        }
+
+        // The BSIZE field holds the total member size minus one
+        int remaining = blockSize + 1 - HEADER_SIZE - extraLength;
+        if (remaining < TRAILER_SIZE) {
+            throw new ZipException("Invalid BGZF block size " + (blockSize + 1));
+        }
+        byte[] body = raw.readNBytes(remaining);
+        if (body.length < remaining) {
+            throw new EOFException("Truncated BGZF block");
+        }
+        return body;
+    }
+
+    /**
+     * Inflate one member body (deflate data followed by CRC32 and ISIZE) and verify it
+     */
+    private static byte[] inflate(byte[] body) throws IOException {
+        int dataLength = body.length - TRAILER_SIZE;
+        int expectedCrc = readInt(body, dataLength);
+        int size = readInt(body, dataLength + 4);
+        if (size < 0 || size > MAX_BLOCK_SIZE) {
+            throw new ZipException("Invalid BGZF uncompressed size " + Integer.toUnsignedString(size));
+        }
+
+        byte[] out = new byte[size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(body, 0, dataLength);
+            int produced = 0;
+            while (produced < size && !inflater.finished()) {
+                int n = inflater.inflate(out, produced, size - produced);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                produced += n;
+            }
+            if (produced != size) {
+                throw new ZipException("BGZF block inflated to " + produced + " bytes, expected " + size);
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt BGZF block: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(out);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new ZipException("BGZF block CRC mismatch");
+        }
+        return out;
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while inflating BGZF block");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to inflate BGZF block", e.getCause());
+        }
+    }
+
+    /**
+     * gzip magic, deflate method and exactly the FEXTRA flag, as BGZF requires
+     */
+    private static boolean hasMemberHeader(byte[] header) {
+        return (header[0] & 0xFF) == 0x1f && (header[1] & 0xFF) == 0x8b && header[2] == 8 && header[3] == FLAG_EXTRA;
+    }
+
+    /**
+     * Find the BC subfield in a gzip extra field and return its value, or -1
+     */
+    private static int blockSizeField(byte[] bytes, int offset, int extraLength) {
+        int i = offset;
+        int end = offset + extraLength;
+        while (i + 4 <= end) {
+            int subfieldLength = readShort(bytes, i + 2);
+            if (bytes[i] == 'B' && bytes[i + 1] == 'C' && subfieldLength == 2 && i + 6 <= end) {
+                return readShort(bytes, i + 4);
+            }
+            i += 4 + subfieldLength;
+        }
+        return -1;
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return readShort(bytes, offset) | readShort(bytes, offset + 2) << 16;
+    }
+}
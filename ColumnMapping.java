@@ -0,0 +1,138 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Maps CSV field positions to employee columns for one file.
+ * Only projected columns are mapped; every other field is skipped by the parser
+ * without being turned into a String.
+ */
+final class ColumnMapping {
+
+    // Header names of the optional change operation column in delta files
+    private static final List<String> OPERATION_HEADERS = List.of("op", "operation", "action");
+
+    // EmployeeColumn for each field position, or null when the field is skipped
+    private final EmployeeColumn[] columnAt;
+    // Position of the operation column, or -1 when every row is an upsert
+    private final int operationField;
+
+    private ColumnMapping(EmployeeColumn[] columnAt) {
+        this(columnAt, -1);
+    }
+
+    private ColumnMapping(EmployeeColumn[] columnAt, int operationField) {
+        this.columnAt = columnAt;
+        this.operationField = operationField;
+    }
+
+    /**
+     * Mapping for files in the default column order
+     */
+    static ColumnMapping positional(Set<EmployeeColumn> projection) {
+        EmployeeColumn[] all = EmployeeColumn.values();
+        EmployeeColumn[] columnAt = new EmployeeColumn[all.length];
+        for (EmployeeColumn column : all) {
+            if (projection.contains(column)) {
+                columnAt[column.ordinal()] = column;
+            }
+        }
+        return new ColumnMapping(trim(columnAt));
+    }
+
+    /**
+     * Mapping built from the header row. A header that names none of the known
+     * columns is treated as a plain title row and the default order is used.
+     * A projected column the header does not name is read from its default
+     * position when the header cell there names no other column, as a file in the
+     * default order with a few renamed headers used to load; otherwise it is left
+     * unset. Only a missing id column is rejected.
+     */
+    static ColumnMapping fromHeader(List<String> header, Set<EmployeeColumn> projection) {
+        EmployeeColumn[] columnAt = new EmployeeColumn[header.size()];
+        boolean anyKnown = false;
+        for (int i = 0; i < header.size(); i++) {
+            EmployeeColumn column = EmployeeColumn.forHeader(header.get(i));
+            if (column != null) {
+                anyKnown = true;
+                if (projection.contains(column)) {
+                    columnAt[i] = column;
+                }
+            }
+        }
+        if (!anyKnown) {
+            return positional(projection);
+        }
+
+        for (EmployeeColumn column : projection) {
+            if (indexOf(columnAt, column) >= 0) {
+                continue;
+            }
+            int position = column.ordinal();
+            if (position < header.size() && EmployeeColumn.forHeader(header.get(position)) == null) {
+                columnAt[position] = column;
+            } else if (column == EmployeeColumn.ID) {
+                throw new IllegalArgumentException("CSV header has no column for " + column + ": " + header);
+            }
+        }
+        return new ColumnMapping(trim(columnAt));
+    }
+
+    /**
+     * Mapping for a delta file: every column, plus the operation column when the
+     * header has one
+     */
+    static ColumnMapping forDelta(List<String> header) {
+        ColumnMapping mapping = fromHeader(header, EmployeeColumn.all());
+        for (int i = 0; i < header.size(); i++) {
+            if (OPERATION_HEADERS.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return new ColumnMapping(mapping.columnAt, i);
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * Number of leading fields the parser has to track; fields after the last
+     * projected one are never looked at. Rows with fewer fields are ignored.
+     */
+    int width() {
+        return Math.max(columnAt.length, operationField + 1);
+    }
+
+    /**
+     * Number of fields a delete row needs: it only has to reach the operation and the id
+     */
+    int deleteWidth() {
+        return Math.max(operationField, indexOf(columnAt, EmployeeColumn.ID)) + 1;
+    }
+
+    int operationField() {
+        return operationField;
+    }
+
+    EmployeeColumn columnAt(int field) {
+        return field < columnAt.length ? columnAt[field] : null;
+    }
+
+    private static int indexOf(EmployeeColumn[] columnAt, EmployeeColumn column) {
+        for (int i = 0; i < columnAt.length; i++) {
+            if (columnAt[i] == column) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static EmployeeColumn[] trim(EmployeeColumn[] columnAt) {
+        int width = columnAt.length;
+        while (width > 0 && columnAt[width - 1] == null) {
+            width--;
+        }
+        EmployeeColumn[] trimmed = new EmployeeColumn[width];
+        System.arraycopy(columnAt, 0, trimmed, 0, width);
+        return trimmed;
+    }
+}
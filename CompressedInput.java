@@ -0,0 +1,75 @@
+package com.harshitha.pdfreport.data;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Opens CSV input that may be compressed, so extracts can be read without first
+ * decompressing them to disk.
+ * gzip is recognised by its magic bytes and zlib/deflate by a .deflate or .zz
+ * extension. Block-gzipped (BGZF) files are inflated in parallel; other multi-member
+ * gzip files carry no member sizes and are inflated on the reading thread.
+ */
+final class CompressedInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Large enough for a gzip header with the BGZF extra field
+    private static final int PROBE_SIZE = 32;
+
+    private CompressedInput() {}
+
+    /**
+     * Check whether the file needs decompressing before it can be parsed
+     */
+    static boolean isCompressed(Path file) throws IOException {
+        if (isDeflate(file)) {
+            return true;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return isGzip(in.readNBytes(2));
+        }
+    }
+
+    /**
+     * Open the file as a stream of plain CSV bytes, inflating on up to 'parallelism'
+     * threads when the file is BGZF
+     */
+    static InputStream open(Path file, int parallelism) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            if (isDeflate(file)) {
+                return new InflaterInputStream(in);
+            }
+
+            in.mark(PROBE_SIZE);
+            byte[] probe = in.readNBytes(PROBE_SIZE);
+            in.reset();
+
+            if (BgzfInputStream.isBgzf(probe, probe.length)) {
+                return new BgzfInputStream(in, parallelism);
+            }
+            if (isGzip(probe)) {
+                return new GZIPInputStream(in, BUFFER_SIZE);
+            }
+            return in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean isGzip(byte[] probe) {
+        return probe.length >= 2 && (probe[0] & 0xFF) == 0x1f && (probe[1] & 0xFF) == 0x8b;
+    }
+
+    private static boolean isDeflate(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".deflate") || name.endsWith(".zz");
+    }
+}
@@ -0,0 +1,82 @@
+package com.harshitha.pdfreport.data;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Options for the byte-level CSV loaders in EmployeeDataManager
+ */
+public class CsvLoadOptions {
+
+    private int parallelism = 1;
+    private Set<EmployeeColumn> columns = EmployeeColumn.all();
+    private boolean lenient;
+    private long maxRejectedRows = Long.MAX_VALUE;
+    private Path rejectFile;
+    private Path snapshotFile;
+
+    public int getParallelism() { return parallelism; }
+
+    public Set<EmployeeColumn> getColumns() { return columns; }
+
+    public boolean isLenient() { return lenient; }
+
+    public long getMaxRejectedRows() { return maxRejectedRows; }
+
+    public Path getRejectFile() { return rejectFile; }
+
+    public Path getSnapshotFile() { return snapshotFile; }
+
+    /**
+     * Number of worker threads used to parse the file; 1 parses on the calling thread
+     */
+    public CsvLoadOptions withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Only materialize these columns; the others are skipped while parsing and left
+     * at their defaults (null, 0 or 0.0) in the loaded employees
+     */
+    public CsvLoadOptions withColumns(Set<EmployeeColumn> columns) {
+        this.columns = EnumSet.copyOf(columns);
+        return this;
+    }
+
+    /**
+     * Skip malformed rows instead of failing, but abort once more than this many
+     * rows have been rejected
+     */
+    public CsvLoadOptions withErrorBudget(long maxRejectedRows) {
+        if (maxRejectedRows < 0) {
+            throw new IllegalArgumentException("Error budget cannot be negative: " + maxRejectedRows);
+        }
+        this.lenient = true;
+        this.maxRejectedRows = maxRejectedRows;
+        return this;
+    }
+
+    /**
+     * Skip malformed rows instead of failing and write each one, with its line number
+     * and the reason, to this file. Without an error budget every bad row is tolerated.
+     */
+    public CsvLoadOptions withRejectFile(Path rejectFile) {
+        this.lenient = true;
+        this.rejectFile = rejectFile;
+        return this;
+    }
+
+    /**
+     * Keep a binary snapshot of the loaded data in this file. Later loads of the
+     * same, unchanged CSV read the snapshot instead of parsing the CSV again.
+     */
+    public CsvLoadOptions withSnapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        return this;
+    }
+}
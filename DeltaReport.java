@@ -0,0 +1,41 @@
+package com.harshitha.pdfreport.data;
+
+/**
+ * Outcome of applying a delta file: how many employees were inserted, updated or
+ * deleted, and how many rows were rejected
+ */
+public class DeltaReport {
+
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+
+    public DeltaReport(long inserted, long updated, long deleted, long rowsRejected, long elapsedNanos) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getInserted() { return inserted; }
+
+    public long getUpdated() { return updated; }
+
+    /**
+     * Employees actually removed; deletes for ids that were not loaded are not counted
+     */
+    public long getDeleted() { return deleted; }
+
+    public long getRowsRejected() { return rowsRejected; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    @Override
+    public String toString() {
+        return String.format("Inserted %,d, updated %,d, deleted %,d, rejected %,d, in %.2f s",
+                inserted, updated, deleted, rowsRejected, elapsedNanos / 1e9);
+    }
+}
@@ -0,0 +1,174 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Rows of each department, keyed by the department name with case folded the same
+ * way String.equalsIgnoreCase compares it. Lookups cost time proportional to the
+ * result and counts are constant time, not proportional to the number of employees.
+ * The rows of a department are a RowSet, so a changed version is derived at a cost
+ * per changed row that does not grow with the department. Immutable once built.
+ */
+final class DepartmentIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final Map<String, RowSet> rowsByKey;
+    private final Map<String, Integer> counts; // By exact name, sorted
+
+    private DepartmentIndex(Map<String, RowSet> rowsByKey, Map<String, Integer> counts) {
+        this.rowsByKey = rowsByKey;
+        this.counts = Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Index the departments of the employees, by their position in the list; null
+     * entries are rows that were removed
+     */
+    static DepartmentIndex build(List<? extends EmployeeView> employees) {
+        // Group by exact name first: department strings are mostly shared instances,
+        // so this avoids folding the case of every row
+        Map<String, RowList> byName = new HashMap<>();
+        for (int row = 0; row < employees.size(); row++) {
+            EmployeeView emp = employees.get(row);
+            String department = emp == null ? null : emp.getDepartment();
+            if (department != null) {
+                byName.computeIfAbsent(department, name -> new RowList()).add(row);
+            }
+        }
+
+        Map<String, int[]> merged = new HashMap<>(byName.size() * 2);
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, RowList> entry : byName.entrySet()) {
+            int[] rows = entry.getValue().toArray();
+            counts.put(entry.getKey(), rows.length);
+            merged.merge(key(entry.getKey()), rows, DepartmentIndex::mergeSorted);
+        }
+        Map<String, RowSet> rowsByKey = new HashMap<>(merged.size() * 2);
+        for (Map.Entry<String, int[]> entry : merged.entrySet()) {
+            rowsByKey.put(entry.getKey(), RowSet.of(entry.getValue()));
+        }
+        return new DepartmentIndex(rowsByKey, counts);
+    }
+
+    /**
+     * The index after some rows changed department, were added or were removed, at a
+     * cost per changed row rather than per row of the index. 'rows' are the changed
+     * rows of 'employees', null where a row was removed, and 'previous' their
+     * departments before the change, null for added rows. This index is left unchanged.
+     */
+    DepartmentIndex withChangedRows(List<? extends EmployeeView> employees, int[] rows, String[] previous) {
+        Map<String, Integer> nextCounts = null;
+        Map<String, RowSet> nextRows = null;
+        for (int i = 0; i < rows.length; i++) {
+            String before = previous[i];
+            EmployeeView emp = employees.get(rows[i]);
+            String after = emp == null ? null : emp.getDepartment();
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            if (nextRows == null) {
+                nextCounts = new TreeMap<>(counts);
+                nextRows = new HashMap<>(rowsByKey);
+            }
+            if (before != null) {
+                nextCounts.merge(before, -1, (count, change) -> count + change == 0 ? null : count + change);
+                RowSet keyRows = nextRows.get(key(before)).without(rows[i]);
+                if (keyRows.size() == 0) {
+                    nextRows.remove(key(before));
+                } else {
+                    nextRows.put(key(before), keyRows);
+                }
+            }
+            if (after != null) {
+                nextCounts.merge(after, 1, Integer::sum);
+                nextRows.put(key(after), nextRows.getOrDefault(key(after), RowSet.EMPTY).with(rows[i]));
+            }
+        }
+        return nextRows == null ? this : new DepartmentIndex(nextRows, nextCounts);
+    }
+
+    /**
+     * Rows whose department equals 'department' ignoring case, in row order
+     */
+    int[] rows(String department) {
+        if (department == null) {
+            return NO_ROWS;
+        }
+        RowSet rows = rowsByKey.get(key(department));
+        return rows == null ? NO_ROWS : rows.toArray();
+    }
+
+    /**
+     * Number of rows whose department equals 'department' ignoring case
+     */
+    int count(String department) {
+        if (department == null) {
+            return 0;
+        }
+        RowSet rows = rowsByKey.get(key(department));
+        return rows == null ? 0 : rows.size();
+    }
+
+    /**
+     * Number of rows per exact department name, sorted by name
+     */
+    Map<String, Integer> counts() {
+        return counts;
+    }
+
+    /**
+     * Fold each character as equalsIgnoreCase does, so equal keys mean equal names
+     */
+    static String key(String department) {
+        char[] chars = department.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Two names that differ only in case share a key; their rows are merged in order
+     */
+    private static int[] mergeSorted(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            merged[k++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+
+    private static final class RowList {
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
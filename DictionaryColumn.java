@@ -0,0 +1,98 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A column of repetitive strings stored as one int code per row plus a dictionary
+ * of the distinct values. Filtering and grouping work on the codes; the strings
+ * are only compared once per distinct value.
+ */
+final class DictionaryColumn {
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private int[] codes;
+    private int size;
+
+    DictionaryColumn(int initialRows) {
+        this.codes = new int[Math.max(1, initialRows)];
+    }
+
+    void add(String value) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(16, codes.length * 2)); // A trimmed column may have no capacity left
+        }
+        codes[size++] = dictionary.encode(value);
+    }
+
+    String get(int row) {
+        return dictionary.decode(codes[row]);
+    }
+
+    int code(int row) {
+        return codes[row];
+    }
+
+    int size() {
+        return size;
+    }
+
+    StringDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Rows whose value equals 'value' ignoring case, in row order
+     */
+    int[] rowsEqualIgnoreCase(String value) {
+        boolean[] matches = dictionary.matchIgnoreCase(value);
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            if (code != StringDictionary.NULL_CODE && matches[code]) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Number of rows holding each non-null value, sorted by value
+     */
+    Map<String, Integer> countByValue() {
+        int[] counts = new int[dictionary.size()];
+        for (int i = 0; i < size; i++) {
+            if (codes[i] != StringDictionary.NULL_CODE) {
+                counts[codes[i]]++;
+            }
+        }
+        Map<String, Integer> byValue = new TreeMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                byValue.put(dictionary.decode(code), counts[code]);
+            }
+        }
+        return byValue;
+    }
+
+    /**
+     * Release spare capacity once the column is fully built
+     */
+    void trimToSize() {
+        codes = Arrays.copyOf(codes, size);
+    }
+
+    /**
+     * Approximate heap bytes held by the codes and the distinct values
+     */
+    long memoryUsage() {
+        long bytes = 16L + 4L * codes.length;
+        for (int code = 0; code < dictionary.size(); code++) {
+            // String header, array header and characters, plus the map entry
+            bytes += 64L + dictionary.decode(code).length();
+        }
+        return bytes;
+    }
+}
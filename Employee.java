@@ -4,8 +4,9 @@ import java.time.LocalDate;
 
 /**
  * Employee model class representing employee data
+ * A frozen employee is read-only: its setters throw UnsupportedOperationException.
  */
-public class Employee {
+public class Employee implements EmployeeView {
     private int employeeId;
     private String firstName;
     private String lastName;
@@ -16,6 +17,7 @@ public class Employee {
     private LocalDate hireDate;
     private String phoneNumber;
     private String address;
+    private boolean frozen;
 
     // Default constructor
     public Employee() {}
@@ -38,40 +40,67 @@ public class Employee {
 
     // Getters and Setters
     public int getEmployeeId() { return employeeId; }
-    public void setEmployeeId(int employeeId) { this.employeeId = employeeId; }
+    public void setEmployeeId(int employeeId) { checkMutable(); this.employeeId = employeeId; }
 
     public String getFirstName() { return firstName; }
-    public void setFirstName(String firstName) { this.firstName = firstName; }
+    public void setFirstName(String firstName) { checkMutable(); this.firstName = firstName; }
 
     public String getLastName() { return lastName; }
-    public void setLastName(String lastName) { this.lastName = lastName; }
+    public void setLastName(String lastName) { checkMutable(); this.lastName = lastName; }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { checkMutable(); this.email = email; }
 
     public String getDepartment() { return department; }
-    public void setDepartment(String department) { this.department = department; }
+    public void setDepartment(String department) { checkMutable(); this.department = department; }
 
     public String getPosition() { return position; }
-    public void setPosition(String position) { this.position = position; }
+    public void setPosition(String position) { checkMutable(); this.position = position; }
 
     public double getSalary() { return salary; }
-    public void setSalary(double salary) { this.salary = salary; }
+    public void setSalary(double salary) { checkMutable(); this.salary = salary; }
 
     public LocalDate getHireDate() { return hireDate; }
-    public void setHireDate(LocalDate hireDate) { this.hireDate = hireDate; }
+    public void setHireDate(LocalDate hireDate) { checkMutable(); this.hireDate = hireDate; }
 
     public String getPhoneNumber() { return phoneNumber; }
-    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { checkMutable(); this.phoneNumber = phoneNumber; }
 
     public String getAddress() { return address; }
-    public void setAddress(String address) { this.address = address; }
+    public void setAddress(String address) { checkMutable(); this.address = address; }
 
     // Utility method to get full name
     public String getFullName() {
         return firstName + " " + lastName;
     }
 
+    // Make this employee read-only; datasets freeze the employees they publish
+    public Employee freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException(
+                    "Employee " + employeeId + " is read-only; change a copy from Employee.copyOf");
+        }
+    }
+
+    // Independent, unfrozen copy of any employee, so later changes to one do not show in the other
+    public static Employee copyOf(EmployeeView emp) {
+        return new Employee(emp.getEmployeeId(), emp.getFirstName(), emp.getLastName(), emp.getEmail(),
+                emp.getDepartment(), emp.getPosition(), emp.getSalary(), emp.getHireDate(),
+                emp.getPhoneNumber(), emp.getAddress());
+    }
+
+    // Immutable copy with the salary in cents and the hire date as an epoch day
+    public EmployeeRecord toRecord() {
+        return EmployeeRecord.from(this);
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
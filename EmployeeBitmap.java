@@ -0,0 +1,352 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable compressed set of row numbers, used to combine predicates without
+ * materializing employees. Rows are split into chunks of 65,536 by their high bits;
+ * a sparse chunk stores its rows as a sorted array and a dense one as 1,024 bit words.
+ * and, or and andNot work a word at a time, and cardinality needs no iteration.
+ * Row numbers refer to the dataset whose EmployeeBitmapIndex produced the bitmap.
+ */
+public final class EmployeeBitmap {
+
+    private static final int WORDS_PER_CHUNK = 1024; // 65,536 bits
+    private static final int ARRAY_LIMIT = 4096;     // Above this a bit chunk is smaller
+
+    static final EmployeeBitmap EMPTY = new EmployeeBitmap(new int[0], new Object[0], new int[0], 0);
+
+    private final int[] keys;          // High 16 bits of each chunk's rows, ascending
+    private final Object[] chunks;     // char[] of sorted low bits, or long[] bit words; never modified
+    private final int[] cardinalities;
+    private final int cardinality;
+
+    private EmployeeBitmap(int[] keys, Object[] chunks, int[] cardinalities, int size) {
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.chunks = size == chunks.length ? chunks : Arrays.copyOf(chunks, size);
+        this.cardinalities = size == cardinalities.length ? cardinalities : Arrays.copyOf(cardinalities, size);
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += this.cardinalities[i];
+        }
+        this.cardinality = total;
+    }
+
+    /**
+     * Bitmap of the rows from 0 up to but excluding 'rows'
+     */
+    static EmployeeBitmap range(int rows) {
+        Builder builder = new Builder();
+        for (int row = 0; row < rows; row++) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Number of rows in the set
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int row) {
+        int i = Arrays.binarySearch(keys, row >>> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) row;
+        Object chunk = chunks[i];
+        if (chunk instanceof long[]) {
+            return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunk, low) >= 0;
+    }
+
+    /**
+     * Rows in both sets
+     */
+    public EmployeeBitmap and(EmployeeBitmap other) {
+        Builder result = new Builder(Math.min(keys.length, other.keys.length));
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object a = chunks[i];
+                Object b = other.chunks[j];
+                if (a instanceof char[] && b instanceof char[]) {
+                    result.append(keys[i], intersect((char[]) a, (char[]) b));
+                } else {
+                    long[] x = words(a);
+                    long[] y = words(b);
+                    long[] words = new long[WORDS_PER_CHUNK];
+                    for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                        words[w] = x[w] & y[w];
+                    }
+                    result.append(keys[i], words);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Rows in either set
+     */
+    public EmployeeBitmap or(EmployeeBitmap other) {
+        Builder result = new Builder(keys.length + other.keys.length);
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                result.share(keys[i], chunks[i], cardinalities[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                result.share(other.keys[j], other.chunks[j], other.cardinalities[j]);
+                j++;
+            } else {
+                long[] x = words(chunks[i]);
+                long[] y = words(other.chunks[j]);
+                long[] words = new long[WORDS_PER_CHUNK];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    words[w] = x[w] | y[w];
+                }
+                result.append(keys[i], words);
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Rows in this set but not in the other
+     */
+    public EmployeeBitmap andNot(EmployeeBitmap other) {
+        Builder result = new Builder(keys.length);
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j == other.keys.length || other.keys[j] != keys[i]) {
+                result.share(keys[i], chunks[i], cardinalities[i]);
+                continue;
+            }
+            long[] x = words(chunks[i]);
+            long[] y = words(other.chunks[j]);
+            long[] words = new long[WORDS_PER_CHUNK];
+            for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                words[w] = x[w] & ~y[w];
+            }
+            result.append(keys[i], words);
+        }
+        return result.build();
+    }
+
+    /**
+     * Pass each row to the action in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << 16;
+            Object chunk = chunks[i];
+            if (chunk instanceof char[]) {
+                for (char low : (char[]) chunk) {
+                    action.accept(high | low);
+                }
+            } else {
+                long[] words = (long[]) chunk;
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows in ascending order
+     */
+    public int[] toArray() {
+        int[] rows = new int[cardinality];
+        int[] count = {0};
+        forEach(row -> rows[count[0]++] = row);
+        return rows;
+    }
+
+    /**
+     * Approximate heap bytes held by the chunks
+     */
+    public long getMemoryUsage() {
+        long bytes = 48L + 12L * keys.length;
+        for (Object chunk : chunks) {
+            bytes += 16 + (chunk instanceof long[] ? 8L * WORDS_PER_CHUNK : 2L * ((char[]) chunk).length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeBitmap[" + cardinality + " rows in " + keys.length + " chunks]";
+    }
+
+    private static long[] words(Object chunk) {
+        if (chunk instanceof long[]) {
+            return (long[]) chunk;
+        }
+        long[] words = new long[WORDS_PER_CHUNK];
+        for (char low : (char[]) chunk) {
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    private static char[] intersect(char[] a, char[] b) {
+        char[] result = new char[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Collects chunks in ascending key order. Rows can be added one at a time in
+     * ascending order, or whole chunks appended by the set operations.
+     */
+    static final class Builder {
+        private int[] keys;
+        private Object[] chunks;
+        private int[] cardinalities;
+        private int size;
+        // Chunk being filled by add
+        private int currentKey = -1;
+        private char[] array = new char[16];
+        private long[] bits;
+        private int count;
+
+        Builder() {
+            this(4);
+        }
+
+        private Builder(int capacity) {
+            capacity = Math.max(capacity, 1);
+            keys = new int[capacity];
+            chunks = new Object[capacity];
+            cardinalities = new int[capacity];
+        }
+
+        /**
+         * Add a row greater than every row added before
+         */
+        void add(int row) {
+            int key = row >>> 16;
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            char low = (char) row;
+            if (bits != null) {
+                bits[low >>> 6] |= 1L << low;
+            } else if (count == ARRAY_LIMIT) {
+                bits = words(Arrays.copyOf(array, count));
+                bits[low >>> 6] |= 1L << low;
+            } else {
+                if (count == array.length) {
+                    array = Arrays.copyOf(array, count * 2);
+                }
+                array[count] = low;
+            }
+            count++;
+        }
+
+        EmployeeBitmap build() {
+            flush();
+            return size == 0 ? EMPTY : new EmployeeBitmap(keys, chunks, cardinalities, size);
+        }
+
+        private void flush() {
+            if (count > 0) {
+                share(currentKey, bits != null ? bits : Arrays.copyOf(array, count), count);
+                bits = null;
+                count = 0;
+            }
+        }
+
+        /**
+         * Append a chunk of sorted low bits
+         */
+        void append(int key, char[] lows) {
+            if (lows.length > 0) {
+                share(key, lows, lows.length);
+            }
+        }
+
+        /**
+         * Append a chunk of new bit words, storing it as an array when it is sparse
+         */
+        void append(int key, long[] words) {
+            int bitCount = 0;
+            for (long word : words) {
+                bitCount += Long.bitCount(word);
+            }
+            if (bitCount == 0) {
+                return;
+            }
+            if (bitCount > ARRAY_LIMIT) {
+                share(key, words, bitCount);
+                return;
+            }
+            char[] lows = new char[bitCount];
+            int k = 0;
+            for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    lows[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            share(key, lows, bitCount);
+        }
+
+        /**
+         * Append an existing immutable chunk as is
+         */
+        void share(int key, Object chunk, int chunkCardinality) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                chunks = Arrays.copyOf(chunks, size * 2);
+                cardinalities = Arrays.copyOf(cardinalities, size * 2);
+            }
+            keys[size] = key;
+            chunks[size] = chunk;
+            cardinalities[size] = chunkCardinality;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.DoublePredicate;
+
+/**
+ * Bitmap indexes over the low-cardinality employee attributes of one dataset:
+ * department and position (ignoring case), hire year and salary band. Each value
+ * maps to the bitmap of its rows, so a question such as "Engineering AND hired in
+ * 2022 AND salary above 70k" is answered with word-level bit operations, and
+ * counted without creating any employee. Get it from EmployeeDataset.getBitmapIndex
+ * and turn the resulting bitmap into employees with EmployeeDataset.getEmployees(bitmap).
+ */
+public final class EmployeeBitmapIndex {
+
+    public static final double DEFAULT_SALARY_BAND = 10_000;
+
+    private final int rowCount;
+    private final double bandWidth;
+    private final double[] salaries; // By row, to split the bands at a query's bounds
+    private final Map<String, EmployeeBitmap> departments;
+    private final Map<String, EmployeeBitmap> positions;
+    private final NavigableMap<Integer, EmployeeBitmap> hireYears;
+    private final NavigableMap<Long, EmployeeBitmap> salaryBands;
+    private volatile EmployeeBitmap all;
+
+    private EmployeeBitmapIndex(int rowCount, EmployeeBitmap all, double bandWidth, double[] salaries,
+                                Map<String, EmployeeBitmap> departments, Map<String, EmployeeBitmap> positions,
+                                NavigableMap<Integer, EmployeeBitmap> hireYears,
+                                NavigableMap<Long, EmployeeBitmap> salaryBands) {
+        this.rowCount = rowCount;
+        this.all = all;
+        this.bandWidth = bandWidth;
+        this.salaries = salaries;
+        this.departments = departments;
+        this.positions = positions;
+        this.hireYears = hireYears;
+        this.salaryBands = salaryBands;
+    }
+
+    /**
+     * Index the employees by their position in the list, with salary bands of the given
+     * width; null entries are rows that were removed
+     */
+    static EmployeeBitmapIndex build(List<? extends EmployeeView> employees, double bandWidth) {
+        if (!(bandWidth > 0)) {
+            throw new IllegalArgumentException("Salary band width must be positive: " + bandWidth);
+        }
+        Map<String, EmployeeBitmap.Builder> departments = new HashMap<>();
+        Map<String, EmployeeBitmap.Builder> positions = new HashMap<>();
+        Map<Integer, EmployeeBitmap.Builder> hireYears = new HashMap<>();
+        Map<Long, EmployeeBitmap.Builder> salaryBands = new HashMap<>();
+        double[] salaries = new double[employees.size()];
+        EmployeeBitmap.Builder live = new EmployeeBitmap.Builder();
+        int rowCount = 0;
+
+        for (int row = 0; row < employees.size(); row++) {
+            EmployeeView emp = employees.get(row);
+            if (emp == null) {
+                continue;
+            }
+            live.add(row);
+            rowCount++;
+            if (emp.getDepartment() != null) {
+                departments.computeIfAbsent(emp.getDepartment(), name -> new EmployeeBitmap.Builder()).add(row);
+            }
+            if (emp.getPosition() != null) {
+                positions.computeIfAbsent(emp.getPosition(), name -> new EmployeeBitmap.Builder()).add(row);
+            }
+            LocalDate hireDate = emp.getHireDate();
+            if (hireDate != null) {
+                hireYears.computeIfAbsent(hireDate.getYear(), year -> new EmployeeBitmap.Builder()).add(row);
+            }
+            salaries[row] = emp.getSalary();
+            if (!Double.isNaN(salaries[row])) {
+                salaryBands.computeIfAbsent(band(salaries[row], bandWidth), band -> new EmployeeBitmap.Builder())
+                        .add(row);
+            }
+        }
+
+        // Without removed rows every row is set, which all() can build on demand
+        EmployeeBitmap all = rowCount == employees.size() ? null : live.build();
+        return new EmployeeBitmapIndex(rowCount, all, bandWidth, salaries,
+                foldCase(departments), foldCase(positions), buildAll(hireYears), buildAll(salaryBands));
+    }
+
+    /**
+     * Rows in the department, ignoring case
+     */
+    public EmployeeBitmap department(String department) {
+        return department == null ? EmployeeBitmap.EMPTY
+                : departments.getOrDefault(DepartmentIndex.key(department), EmployeeBitmap.EMPTY);
+    }
+
+    /**
+     * Rows with the position, ignoring case
+     */
+    public EmployeeBitmap position(String position) {
+        return position == null ? EmployeeBitmap.EMPTY
+                : positions.getOrDefault(DepartmentIndex.key(position), EmployeeBitmap.EMPTY);
+    }
+
+    public EmployeeBitmap hiredInYear(int year) {
+        return hireYears.getOrDefault(year, EmployeeBitmap.EMPTY);
+    }
+
+    /**
+     * Rows hired in any year from one to another inclusive
+     */
+    public EmployeeBitmap hiredInYears(int fromYear, int toYear) {
+        EmployeeBitmap result = EmployeeBitmap.EMPTY;
+        if (fromYear <= toYear) {
+            for (EmployeeBitmap year : hireYears.subMap(fromYear, true, toYear, true).values()) {
+                result = result.or(year);
+            }
+        }
+        return result;
+    }
+
+    public EmployeeBitmap salaryAbove(double salary) {
+        return salaryRange(band(salary, bandWidth), Long.MAX_VALUE, s -> s > salary);
+    }
+
+    public EmployeeBitmap salaryAtLeast(double salary) {
+        return salaryRange(band(salary, bandWidth), Long.MAX_VALUE, s -> s >= salary);
+    }
+
+    public EmployeeBitmap salaryAtMost(double salary) {
+        return salaryRange(Long.MIN_VALUE, band(salary, bandWidth), s -> s <= salary);
+    }
+
+    public EmployeeBitmap salaryBelow(double salary) {
+        return salaryRange(Long.MIN_VALUE, band(salary, bandWidth), s -> s < salary);
+    }
+
+    /**
+     * Rows earning from min to max inclusive
+     */
+    public EmployeeBitmap salaryBetween(double minSalary, double maxSalary) {
+        if (minSalary > maxSalary) {
+            return EmployeeBitmap.EMPTY;
+        }
+        return salaryRange(band(minSalary, bandWidth), band(maxSalary, bandWidth),
+                s -> s >= minSalary && s <= maxSalary);
+    }
+
+    /**
+     * Every row of the dataset
+     */
+    public EmployeeBitmap all() {
+        EmployeeBitmap rows = all;
+        if (rows == null) {
+            rows = EmployeeBitmap.range(rowCount);
+            all = rows;
+        }
+        return rows;
+    }
+
+    /**
+     * Rows of the dataset not in the bitmap
+     */
+    public EmployeeBitmap not(EmployeeBitmap rows) {
+        return all().andNot(rows);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Approximate heap bytes held by the bitmaps and the salary column
+     */
+    public long getMemoryUsage() {
+        long bytes = 16L + 8L * salaries.length;
+        for (Map<?, EmployeeBitmap> bitmaps : List.of(departments, positions, hireYears, salaryBands)) {
+            for (EmployeeBitmap bitmap : bitmaps.values()) {
+                bytes += 48 + bitmap.getMemoryUsage();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Union of the bands in range. Bands strictly inside it are taken whole; the
+     * end bands are only partly covered, so their rows are checked against the test.
+     */
+    private EmployeeBitmap salaryRange(long fromBand, long toBand, DoublePredicate test) {
+        EmployeeBitmap result = EmployeeBitmap.EMPTY;
+        for (Map.Entry<Long, EmployeeBitmap> band : salaryBands.subMap(fromBand, true, toBand, true).entrySet()) {
+            EmployeeBitmap rows = band.getValue();
+            if (band.getKey() == fromBand || band.getKey() == toBand) {
+                EmployeeBitmap.Builder matching = new EmployeeBitmap.Builder();
+                rows.forEach(row -> {
+                    if (test.test(salaries[row])) {
+                        matching.add(row);
+                    }
+                });
+                rows = matching.build();
+            }
+            result = result.or(rows);
+        }
+        return result;
+    }
+
+    private static long band(double salary, double bandWidth) {
+        return (long) Math.floor(salary / bandWidth);
+    }
+
+    /**
+     * Merge values that differ only in case, so lookups can ignore case
+     */
+    private static Map<String, EmployeeBitmap> foldCase(Map<String, EmployeeBitmap.Builder> byValue) {
+        Map<String, EmployeeBitmap> byKey = new HashMap<>(byValue.size() * 2);
+        for (Map.Entry<String, EmployeeBitmap.Builder> entry : byValue.entrySet()) {
+            byKey.merge(DepartmentIndex.key(entry.getKey()), entry.getValue().build(), EmployeeBitmap::or);
+        }
+        return byKey;
+    }
+
+    private static <K extends Comparable<K>> NavigableMap<K, EmployeeBitmap> buildAll(
+            Map<K, EmployeeBitmap.Builder> builders) {
+        NavigableMap<K, EmployeeBitmap> bitmaps = new TreeMap<>();
+        for (Map.Entry<K, EmployeeBitmap.Builder> entry : builders.entrySet()) {
+            bitmaps.put(entry.getKey(), entry.getValue().build());
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,263 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary encoding of employees for handing data between stages or processes.
+ * A record is a flags byte, the id as a zig-zag varint, each string as a varint
+ * length followed by its UTF-8 bytes, the salary as 8 bytes and the hire date as a
+ * zig-zag varint epoch day. Streams start with a magic number and format version
+ * and end with an end-of-data flag, so readers can reject data they do not understand.
+ */
+public final class EmployeeCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x454D5043; // "EMPC"
+    private static final int FLAG_HAS_HIRE_DATE = 1;
+    private static final int FLAG_END = 0x80;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Longest string a record may hold, so a corrupt length cannot demand a huge buffer
+    private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+    private EmployeeCodec() {}
+
+    /**
+     * Encode one employee at the buffer's position.
+     * Throws BufferOverflowException when it does not fit; the position is then undefined.
+     * Throws IllegalArgumentException for a string longer than 16 MiB.
+     */
+    public static void write(EmployeeView emp, ByteBuffer out) {
+        LocalDate hireDate = emp.getHireDate();
+        out.put((byte) (hireDate != null ? FLAG_HAS_HIRE_DATE : 0));
+        writeVarint(out, zigZag(emp.getEmployeeId()));
+        writeString(out, emp.getFirstName());
+        writeString(out, emp.getLastName());
+        writeString(out, emp.getEmail());
+        writeString(out, emp.getDepartment());
+        writeString(out, emp.getPosition());
+        out.putDouble(emp.getSalary());
+        if (hireDate != null) {
+            writeVarint(out, zigZag(hireDate.toEpochDay()));
+        }
+        writeString(out, emp.getPhoneNumber());
+        writeString(out, emp.getAddress());
+    }
+
+    /**
+     * Decode one employee at the buffer's position.
+     * Throws BufferUnderflowException when the record is incomplete, and
+     * IllegalArgumentException or DateTimeException when it is corrupt.
+     */
+    public static Employee read(ByteBuffer in) {
+        int flags = in.get() & 0xFF;
+        if ((flags & FLAG_END) != 0) {
+            throw new IllegalArgumentException("End of data marker where an employee was expected");
+        }
+        return readRecord(in, flags);
+    }
+
+    /**
+     * Write a complete stream: header, every employee, and the end marker
+     */
+    public static long writeAll(Iterable<? extends EmployeeView> employees, OutputStream out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        buf.putInt(MAGIC).put((byte) VERSION);
+        long count = 0;
+        for (EmployeeView emp : employees) {
+            buf = writeBuffered(emp, buf, out);
+            count++;
+        }
+        if (!buf.hasRemaining()) {
+            flush(buf, out);
+        }
+        buf.put((byte) FLAG_END);
+        flush(buf, out);
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Read a stream written by writeAll and pass each employee to the sink.
+     * Returns the number of employees read; corrupt data fails with an IOException.
+     */
+    public static long readAll(InputStream in, Consumer<? super Employee> sink) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        buf.flip();
+        buf = fill(in, buf, 5);
+        if (buf.getInt() != MAGIC) {
+            throw new IOException("Not an employee codec stream");
+        }
+        int version = buf.get() & 0xFF;
+        if (version > VERSION) {
+            throw new IOException("Unsupported employee codec version " + version + " (supported: " + VERSION + ")");
+        }
+
+        long count = 0;
+        while (true) {
+            buf = fill(in, buf, 1);
+            int start = buf.position();
+            int flags = buf.get() & 0xFF;
+            if ((flags & FLAG_END) != 0) {
+                return count;
+            }
+            Employee emp;
+            try {
+                emp = readRecord(buf, flags);
+            } catch (BufferUnderflowException e) {
+                // Record continues past the buffered bytes: refill and decode it again
+                buf.position(start);
+                buf = fill(in, buf, buf.remaining() + 1);
+                continue;
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new IOException("Employee codec stream is corrupt after " + count + " employees", e);
+            }
+            sink.accept(emp);
+            count++;
+        }
+    }
+
+    private static Employee readRecord(ByteBuffer in, int flags) {
+        Employee emp = new Employee();
+        emp.setEmployeeId((int) unZigZag(readVarint(in)));
+        emp.setFirstName(readString(in));
+        emp.setLastName(readString(in));
+        emp.setEmail(readString(in));
+        emp.setDepartment(readString(in));
+        emp.setPosition(readString(in));
+        emp.setSalary(in.getDouble());
+        if ((flags & FLAG_HAS_HIRE_DATE) != 0) {
+            emp.setHireDate(LocalDate.ofEpochDay(unZigZag(readVarint(in))));
+        }
+        emp.setPhoneNumber(readString(in));
+        emp.setAddress(readString(in));
+        return emp;
+    }
+
+    /**
+     * Encode into the buffer, flushing it to the stream (and growing it for an
+     * oversized record) when the record does not fit
+     */
+    private static ByteBuffer writeBuffered(EmployeeView emp, ByteBuffer buf, OutputStream out) throws IOException {
+        while (true) {
+            int start = buf.position();
+            try {
+                write(emp, buf);
+                return buf;
+            } catch (BufferOverflowException e) {
+                buf.position(start);
+                if (start == 0) {
+                    buf = ByteBuffer.allocate(buf.capacity() * 2);
+                } else {
+                    flush(buf, out);
+                }
+            }
+        }
+    }
+
+    private static void flush(ByteBuffer buf, OutputStream out) throws IOException {
+        out.write(buf.array(), 0, buf.position());
+        buf.clear();
+    }
+
+    /**
+     * Make at least 'needed' bytes readable, compacting or growing the buffer as required
+     */
+    private static ByteBuffer fill(InputStream in, ByteBuffer buf, int needed) throws IOException {
+        if (buf.remaining() >= needed) {
+            return buf;
+        }
+        if (needed > buf.capacity()) {
+            buf = ByteBuffer.allocate(Math.max(needed, buf.capacity() * 2)).put(buf);
+        } else {
+            buf.compact();
+        }
+        while (buf.position() < needed) {
+            int n = in.read(buf.array(), buf.position(), buf.remaining());
+            if (n < 0) {
+                throw new EOFException("Employee codec stream ended without its end marker");
+            }
+            buf.position(buf.position() + n);
+        }
+        return buf.flip();
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to encode");
+        }
+        // Length + 1, so that 0 can stand for null
+        writeVarint(out, bytes.length + 1L);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        long header = readVarint(in);
+        if (header == 0) {
+            return null;
+        }
+        if (header < 0 || header - 1 > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("Corrupt string length " + Long.toUnsignedString(header - 1));
+        }
+        int length = (int) header - 1;
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compares handing employees between stages as EmployeeCodec bytes with the CSV
+ * round trip it replaces: write the rows as RFC 4180 CSV, then parse them back with
+ * the streaming CSV parser. Run with an optional row count (default 600,000);
+ * prints nanoseconds per row for each direction and the encoded size.
+ */
+public final class EmployeeCodecBenchmark {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Finance", "HR", "Sales"};
+    private static final String[] POSITIONS = {"Software Engineer", "Manager", "Analyst", "Specialist"};
+
+    private EmployeeCodecBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 600_000;
+        List<Employee> employees = sampleEmployees(rows);
+
+        byte[] codecBytes = encodeCodec(employees);
+        byte[] csvBytes = encodeCsv(employees);
+
+        report("codec encode", BenchmarkTimer.nanosPerOp(3, 5, rows, () -> encodeCodec(employees).length));
+        report("codec decode", BenchmarkTimer.nanosPerOp(3, 5, rows, () -> decodeCodec(codecBytes)));
+        report("CSV encode", BenchmarkTimer.nanosPerOp(3, 5, rows, () -> encodeCsv(employees).length));
+        report("CSV parse", BenchmarkTimer.nanosPerOp(3, 5, rows, () -> decodeCsv(csvBytes)));
+        System.out.printf("%-14s %,d bytes%n", "codec size", codecBytes.length);
+        System.out.printf("%-14s %,d bytes%n", "CSV size", csvBytes.length);
+    }
+
+    private static void report(String operation, double nanos) {
+        System.out.printf("%-14s %8.1f ns/row%n", operation, nanos);
+    }
+
+    private static byte[] encodeCodec(List<Employee> employees) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(employees.size() * 96);
+        EmployeeCodec.writeAll(employees, out);
+        return out.toByteArray();
+    }
+
+    private static long decodeCodec(byte[] bytes) throws IOException {
+        long[] ids = new long[1];
+        EmployeeCodec.readAll(new ByteArrayInputStream(bytes), emp -> ids[0] += emp.getEmployeeId());
+        return ids[0];
+    }
+
+    private static byte[] encodeCsv(List<Employee> employees) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(employees.size() * 112);
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            writer.write("id,firstName,lastName,email,department,position,salary,hireDate,phone,address\n");
+            StringBuilder line = new StringBuilder(256);
+            for (Employee emp : employees) {
+                line.setLength(0);
+                line.append(emp.getEmployeeId()).append(',');
+                appendField(line, emp.getFirstName()).append(',');
+                appendField(line, emp.getLastName()).append(',');
+                appendField(line, emp.getEmail()).append(',');
+                appendField(line, emp.getDepartment()).append(',');
+                appendField(line, emp.getPosition()).append(',');
+                line.append(emp.getSalary()).append(',');
+                line.append(emp.getHireDate() == null ? "" : emp.getHireDate().toString()).append(',');
+                appendField(line, emp.getPhoneNumber()).append(',');
+                appendField(line, emp.getAddress()).append('\n');
+                writer.append(line);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static long decodeCsv(byte[] bytes) {
+        EmployeeCsvSpliterator rows = new EmployeeCsvSpliterator(new ByteArrayInputStream(bytes),
+                EmployeeColumn.all(), null);
+        return StreamSupport.stream(rows, false).mapToLong(Employee::getEmployeeId).sum();
+    }
+
+    /**
+     * Quote the value when it holds a comma, quote or line break, as RFC 4180 requires
+     */
+    private static StringBuilder appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static List<Employee> sampleEmployees(int rows) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String firstName = "First" + random.nextInt(5000);
+            String lastName = "Last" + random.nextInt(20000);
+            employees.add(new Employee(100_000 + i, firstName, lastName,
+                    firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + "@company.com",
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], POSITIONS[random.nextInt(POSITIONS.length)],
+                    30_000 + random.nextInt(170_000) + random.nextInt(100) / 100.0,
+                    LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9000)),
+                    "+1-555-" + (1000 + random.nextInt(9000)),
+                    random.nextInt(1000) + " Main St, Anytown, USA"));
+        }
+        return employees;
+    }
+}
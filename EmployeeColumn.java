@@ -0,0 +1,55 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Columns of the employee CSV format, in their default order.
+ * Header names are matched ignoring case, spaces, dashes and underscores, so
+ * "firstName", "First Name" and "first_name" all map to FIRST_NAME.
+ */
+public enum EmployeeColumn {
+    ID("id", "employeeId"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    DEPARTMENT("department", "dept"),
+    POSITION("position", "title"),
+    SALARY("salary"),
+    HIRE_DATE("hireDate"),
+    PHONE("phone", "phoneNumber"),
+    ADDRESS("address");
+
+    private final String[] headerNames;
+
+    EmployeeColumn(String... headerNames) {
+        this.headerNames = headerNames;
+    }
+
+    /**
+     * All columns; the default projection
+     */
+    public static Set<EmployeeColumn> all() {
+        return EnumSet.allOf(EmployeeColumn.class);
+    }
+
+    /**
+     * Find the column a header cell names, or null if it is not an employee column
+     */
+    public static EmployeeColumn forHeader(String header) {
+        String key = normalize(header);
+        for (EmployeeColumn column : values()) {
+            for (String name : column.headerNames) {
+                if (normalize(name).equals(key)) {
+                    return column;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+}
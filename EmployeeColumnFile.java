@@ -0,0 +1,561 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Columnar employee file for querying history without parsing CSV.
+ * Rows are stored in blocks; inside a block each field is stored as its own column,
+ * and the footer keeps min/max of employee id, salary and hire date per block plus
+ * the department dictionary. Queries first rule out blocks by those statistics, then
+ * read only the column they filter on, and read the rest of a block only when one of
+ * its rows matches. Open files are safe to query from several threads.
+ */
+public final class EmployeeColumnFile implements Closeable {
+
+    public static final int DEFAULT_BLOCK_ROWS = 8192;
+
+    private static final int MAGIC = 0x454D5043; // "EMPC"
+    private static final int FILE_TYPE = 'L';    // Distinguishes columns from codec streams
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 2;
+    private static final int TRAILER_SIZE = 2 * Long.BYTES + Integer.BYTES;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Fixed-width columns at the start of a block, as byte offset and width per row
+     */
+    private enum FixedColumn {
+        ID(0, 4), SALARY(4, 8), HIRE_DAY(12, 4), DEPARTMENT(16, 4);
+
+        static final int ROW_WIDTH = 20; // String columns follow at ROW_WIDTH * rows
+
+        final int offset;
+        final int width;
+
+        FixedColumn(int offset, int width) {
+            this.offset = offset;
+            this.width = width;
+        }
+    }
+
+    private interface RowTest {
+        boolean test(ByteBuffer column, int row);
+    }
+
+    private final FileChannel channel;
+    private final Path file;
+    private final List<Block> blocks;
+    private final StringDictionary departments;
+    private final int rowCount;
+    private final AtomicLong blocksRead = new AtomicLong();
+    private final AtomicLong blocksSkipped = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private EmployeeColumnFile(Path file, FileChannel channel, List<Block> blocks, StringDictionary departments) {
+        this.file = file;
+        this.channel = channel;
+        this.blocks = blocks;
+        this.departments = departments;
+        int rows = 0;
+        for (Block block : blocks) {
+            rows += block.rows;
+        }
+        this.rowCount = rows;
+    }
+
+    /**
+     * Write the employees to a column file with the default block size; returns the row count
+     */
+    public static long write(Path file, Iterable<? extends EmployeeView> employees) throws IOException {
+        return write(file, employees, DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Write the employees to a column file, 'blockRows' rows per block. Smaller blocks
+     * let queries skip more precisely at the cost of a larger footer. The file is
+     * written under a temporary name and moved into place; a failed write removes it.
+     */
+    public static long write(Path file, Iterable<? extends EmployeeView> employees, int blockRows) throws IOException {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("Rows per block must be positive: " + blockRows);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            long count = writeTo(temp, employees, blockRows);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static long writeTo(Path temp, Iterable<? extends EmployeeView> employees, int blockRows)
+            throws IOException {
+        long count = 0;
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeByte(FILE_TYPE);
+            out.writeByte(VERSION);
+
+            BlockWriter writer = new BlockWriter(blockRows, HEADER_SIZE);
+            for (EmployeeView emp : employees) {
+                writer.add(emp);
+                count++;
+                if (writer.isFull()) {
+                    writer.flush(out);
+                }
+            }
+            writer.flush(out);
+            writer.writeFooter(out);
+        }
+        return count;
+    }
+
+    /**
+     * Open a column file, reading only its footer
+     */
+    public static EmployeeColumnFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw new IOException("Not an employee column file: " + file);
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.get() != FILE_TYPE) {
+                throw new IOException("Not an employee column file: " + file);
+            }
+            int version = header.get() & 0xFF;
+            if (version > VERSION) {
+                throw new IOException("Unsupported employee column file version " + version
+                        + " (supported: " + VERSION + ")");
+            }
+
+            ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            long footerCrc = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < HEADER_SIZE || footerOffset > size - TRAILER_SIZE) {
+                throw new IOException("Employee column file is truncated or corrupt: " + file);
+            }
+            ByteBuffer footer = readFully(channel, footerOffset, (int) (size - TRAILER_SIZE - footerOffset));
+            CRC32 crc = new CRC32();
+            crc.update(footer.duplicate());
+            if (crc.getValue() != footerCrc) {
+                throw new IOException("Employee column file is truncated or corrupt: " + file);
+            }
+
+            StringDictionary departments = new StringDictionary();
+            int distinct = footer.getInt();
+            for (int i = 0; i < distinct; i++) {
+                departments.encode(readString(footer));
+            }
+            int blockCount = footer.getInt();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(Block.read(footer));
+            }
+            return new EmployeeColumnFile(file, channel, Collections.unmodifiableList(blocks), departments);
+        } catch (BufferUnderflowException e) {
+            channel.close();
+            throw new IOException("Employee column file is truncated or corrupt: " + file, e);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Distinct departments in the file, from the dictionary
+     */
+    public List<String> getDepartments() {
+        List<String> names = new ArrayList<>(departments.size());
+        for (int code = 0; code < departments.size(); code++) {
+            names.add(departments.decode(code));
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Employees earning more than the threshold; blocks whose highest salary is at
+     * or below it are not read
+     */
+    public List<Employee> getHighEarners(double salaryThreshold) throws IOException {
+        return select(block -> block.maxSalary > salaryThreshold, FixedColumn.SALARY,
+                (column, row) -> column.getDouble(row * Double.BYTES) > salaryThreshold);
+    }
+
+    /**
+     * Employees hired in the year; blocks whose hire dates all fall outside it are
+     * not read. Employees without a hire date never match.
+     */
+    public List<Employee> getEmployeesHiredInYear(int year) throws IOException {
+        int from = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        int to = (int) LocalDate.of(year, 12, 31).toEpochDay();
+        return select(block -> block.maxHireDay >= from && block.minHireDay <= to, FixedColumn.HIRE_DAY,
+                (column, row) -> {
+                    int day = column.getInt(row * Integer.BYTES);
+                    return day >= from && day <= to; // NO_DATE is below every real day
+                });
+    }
+
+    /**
+     * Employees in the department ignoring case. Nothing is read when the dictionary
+     * has no such department; otherwise only the department column of each block is
+     * scanned, on codes.
+     */
+    public List<Employee> getEmployeesByDepartment(String department) throws IOException {
+        boolean[] mask = departments.matchIgnoreCase(department);
+        boolean any = false;
+        for (boolean match : mask) {
+            any |= match;
+        }
+        if (!any) {
+            blocksSkipped.addAndGet(blocks.size());
+            return new ArrayList<>();
+        }
+        return select(block -> true, FixedColumn.DEPARTMENT, (column, row) -> {
+            int code = column.getInt(row * Integer.BYTES);
+            return code != StringDictionary.NULL_CODE && mask[code];
+        });
+    }
+
+    /**
+     * The employee with this id, or null; only blocks whose id range covers it are read
+     */
+    public Employee getEmployee(int employeeId) throws IOException {
+        List<Employee> found = select(block -> employeeId >= block.minId && employeeId <= block.maxId,
+                FixedColumn.ID, (column, row) -> column.getInt(row * Integer.BYTES) == employeeId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Pass every employee to the action, in the order they were written
+     */
+    public void forEach(Consumer<? super Employee> action) throws IOException {
+        for (Block block : blocks) {
+            blocksRead.incrementAndGet();
+            ByteBuffer data = read(block.offset, block.length);
+            decode(block, data, null).forEach(action);
+        }
+    }
+
+    /**
+     * Blocks ruled in by their statistics and scanned by queries so far
+     */
+    public long getBlocksRead() {
+        return blocksRead.get();
+    }
+
+    /**
+     * Blocks ruled out by their statistics without reading them
+     */
+    public long getBlocksSkipped() {
+        return blocksSkipped.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d rows in %,d blocks, %,d blocks read, %,d skipped, %,d bytes read",
+                file, rowCount, blocks.size(), getBlocksRead(), getBlocksSkipped(), getBytesRead());
+    }
+
+    /**
+     * Scan the filter column of every block the statistics rule in, and decode the
+     * whole block only for the rows that pass the test
+     */
+    private List<Employee> select(Predicate<Block> mayMatch, FixedColumn filterColumn, RowTest test)
+            throws IOException {
+        List<Employee> result = new ArrayList<>();
+        for (Block block : blocks) {
+            if (!mayMatch.test(block)) {
+                blocksSkipped.incrementAndGet();
+                continue;
+            }
+            blocksRead.incrementAndGet();
+            ByteBuffer column = read(block.offset + (long) filterColumn.offset * block.rows,
+                    filterColumn.width * block.rows);
+            boolean[] matches = null;
+            for (int row = 0; row < block.rows; row++) {
+                if (test.test(column, row)) {
+                    if (matches == null) {
+                        matches = new boolean[block.rows];
+                    }
+                    matches[row] = true;
+                }
+            }
+            if (matches != null) {
+                result.addAll(decode(block, read(block.offset, block.length), matches));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Materialize the block's rows, or only those set in 'rows' when it is not null
+     */
+    private List<Employee> decode(Block block, ByteBuffer data, boolean[] rows) {
+        int n = block.rows;
+        String[][] strings = new String[6][];
+        data.position(FixedColumn.ROW_WIDTH * n);
+        for (int c = 0; c < strings.length; c++) {
+            strings[c] = new String[n];
+            for (int row = 0; row < n; row++) {
+                strings[c][row] = readString(data);
+            }
+        }
+
+        List<Employee> result = new ArrayList<>(rows == null ? n : 16);
+        for (int row = 0; row < n; row++) {
+            if (rows != null && !rows[row]) {
+                continue;
+            }
+            int hireDay = data.getInt(FixedColumn.HIRE_DAY.offset * n + row * Integer.BYTES);
+            result.add(new Employee(
+                    data.getInt(FixedColumn.ID.offset * n + row * Integer.BYTES),
+                    strings[0][row], strings[1][row], strings[2][row],
+                    departments.decode(data.getInt(FixedColumn.DEPARTMENT.offset * n + row * Integer.BYTES)),
+                    strings[3][row],
+                    data.getDouble(FixedColumn.SALARY.offset * n + row * Double.BYTES),
+                    hireDay == NO_DATE ? null : LocalDate.ofEpochDay(hireDay),
+                    strings[4][row], strings[5][row]));
+        }
+        return result;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        bytesRead.addAndGet(length);
+        return readFully(channel, position, length);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new EOFException("Employee column file ended inside a block");
+            }
+        }
+        return buf.flip();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Position and statistics of one block, as kept in the footer
+     */
+    private static final class Block {
+        final long offset;
+        final int length;
+        final int rows;
+        final int minId;
+        final int maxId;
+        final double minSalary;
+        final double maxSalary;
+        final int minHireDay; // MAX_VALUE and MIN_VALUE when no row has a hire date
+        final int maxHireDay;
+
+        Block(long offset, int length, int rows, int minId, int maxId, double minSalary, double maxSalary,
+              int minHireDay, int maxHireDay) {
+            this.offset = offset;
+            this.length = length;
+            this.rows = rows;
+            this.minId = minId;
+            this.maxId = maxId;
+            this.minSalary = minSalary;
+            this.maxSalary = maxSalary;
+            this.minHireDay = minHireDay;
+            this.maxHireDay = maxHireDay;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(offset);
+            out.writeInt(length);
+            out.writeInt(rows);
+            out.writeInt(minId);
+            out.writeInt(maxId);
+            out.writeDouble(minSalary);
+            out.writeDouble(maxSalary);
+            out.writeInt(minHireDay);
+            out.writeInt(maxHireDay);
+        }
+
+        static Block read(ByteBuffer in) {
+            return new Block(in.getLong(), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                    in.getDouble(), in.getDouble(), in.getInt(), in.getInt());
+        }
+    }
+
+    /**
+     * Buffers one block of rows column by column and tracks its statistics
+     */
+    private static final class BlockWriter {
+        private final int capacity;
+        private final int[] ids;
+        private final double[] salaries;
+        private final int[] hireDays;
+        private final int[] departmentCodes;
+        private final String[][] strings;
+        private final StringDictionary departments = new StringDictionary();
+        private final List<Block> blocks = new ArrayList<>();
+        private long position;
+        private int size;
+
+        BlockWriter(int capacity, long position) {
+            this.capacity = capacity;
+            this.position = position;
+            ids = new int[capacity];
+            salaries = new double[capacity];
+            hireDays = new int[capacity];
+            departmentCodes = new int[capacity];
+            strings = new String[6][capacity];
+        }
+
+        void add(EmployeeView emp) {
+            ids[size] = emp.getEmployeeId();
+            salaries[size] = emp.getSalary();
+            LocalDate hireDate = emp.getHireDate();
+            hireDays[size] = hireDate == null ? NO_DATE : Math.toIntExact(hireDate.toEpochDay());
+            departmentCodes[size] = departments.encode(emp.getDepartment());
+            strings[0][size] = emp.getFirstName();
+            strings[1][size] = emp.getLastName();
+            strings[2][size] = emp.getEmail();
+            strings[3][size] = emp.getPosition();
+            strings[4][size] = emp.getPhoneNumber();
+            strings[5][size] = emp.getAddress();
+            size++;
+        }
+
+        boolean isFull() {
+            return size == capacity;
+        }
+
+        void flush(DataOutputStream out) throws IOException {
+            if (size == 0) {
+                return;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * (FixedColumn.ROW_WIDTH + 64));
+            DataOutputStream block = new DataOutputStream(bytes);
+            int minId = Integer.MAX_VALUE;
+            int maxId = Integer.MIN_VALUE;
+            double minSalary = Double.POSITIVE_INFINITY;
+            double maxSalary = Double.NEGATIVE_INFINITY;
+            int minHireDay = Integer.MAX_VALUE;
+            int maxHireDay = Integer.MIN_VALUE;
+
+            for (int i = 0; i < size; i++) {
+                block.writeInt(ids[i]);
+                minId = Math.min(minId, ids[i]);
+                maxId = Math.max(maxId, ids[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                block.writeDouble(salaries[i]);
+                minSalary = Math.min(minSalary, salaries[i]);
+                maxSalary = Math.max(maxSalary, salaries[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                block.writeInt(hireDays[i]);
+                if (hireDays[i] != NO_DATE) {
+                    minHireDay = Math.min(minHireDay, hireDays[i]);
+                    maxHireDay = Math.max(maxHireDay, hireDays[i]);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                block.writeInt(departmentCodes[i]);
+            }
+            for (String[] column : strings) {
+                for (int i = 0; i < size; i++) {
+                    writeString(block, column[i]);
+                    column[i] = null;
+                }
+            }
+
+            bytes.writeTo(out);
+            blocks.add(new Block(position, bytes.size(), size, minId, maxId, minSalary, maxSalary,
+                    minHireDay, maxHireDay));
+            position += bytes.size();
+            size = 0;
+        }
+
+        void writeFooter(DataOutputStream out) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream footer = new DataOutputStream(bytes);
+            footer.writeInt(departments.size());
+            for (int code = 0; code < departments.size(); code++) {
+                writeString(footer, departments.decode(code));
+            }
+            footer.writeInt(blocks.size());
+            for (Block block : blocks) {
+                block.write(footer);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            bytes.writeTo(out);
+            out.writeLong(position);
+            out.writeLong(crc.getValue());
+            out.writeInt(MAGIC);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Parses employee CSV records directly from a byte buffer.
+ * A single-pass state machine handles RFC 4180 quoting (quoted fields, doubled
+ * quotes, embedded commas and line breaks, CRLF endings). Field boundaries are
+ * tracked as offsets into the buffer, so a String is only created for the
+ * projected columns an Employee actually keeps.
+ */
+class EmployeeCsvParser {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Parser states
+    static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int AFTER_QUOTED = 4;
+    // Boundary scans only: the state after a line break that ends a record
+    static final int RECORD_END = 5;
+    static final int SCAN_STATES = 6;
+
+    // Null while the parser reads a header row
+    private final ColumnMapping mapping;
+    private final List<String> header = new ArrayList<>();
+
+    // Null for a strict load, where the first malformed row aborts with its exception
+    private final RejectLog rejects;
+    // Physical line (1-based) on which the next record starts
+    private long lineNumber;
+    private String recordError;
+    private EmployeeColumn currentColumn;
+    // Receives rows whose operation column asks for a delete; null unless reading a delta
+    private Consumer<Employee> deleteSink;
+
+    private final int trackedFields;
+    private int[] fieldStart;
+    private int[] fieldEnd;
+    private boolean[] fieldQuoted;
+    private boolean[] fieldEscaped;
+    private byte[] scratch = new byte[256];
+
+    // Recently seen hire dates; LocalDate is immutable, so rows with the same date share one instance
+    private static final int DATE_CACHE_SIZE = 1024;
+    private final int[] cachedDateKeys = new int[DATE_CACHE_SIZE];
+    private final LocalDate[] cachedDates = new LocalDate[DATE_CACHE_SIZE];
+
+    // Department and position repeat across rows, so each distinct value becomes one shared String
+    private final StringInterner departments = new StringInterner();
+    private final StringInterner positions = new StringInterner();
+
+    /**
+     * Create a parser for the header row
+     */
+    EmployeeCsvParser() {
+        this.mapping = null;
+        this.rejects = null;
+        this.lineNumber = 1;
+        this.trackedFields = Integer.MAX_VALUE;
+        allocateFields(16);
+    }
+
+    /**
+     * Create a parser for data rows laid out as described by the mapping.
+     * With a reject log malformed rows are reported there and skipped; without one
+     * the first malformed row throws.
+     */
+    EmployeeCsvParser(ColumnMapping mapping, RejectLog rejects, long firstLineNumber) {
+        this.mapping = mapping;
+        this.rejects = rejects;
+        this.lineNumber = firstLineNumber;
+        this.trackedFields = mapping.width();
+        allocateFields(mapping.width());
+    }
+
+    /**
+     * Parse the header record that starts at 'from'. Returns the position just after
+     * it, or -1 when the record is not complete in [from, to) and more input is needed.
+     */
+    int parseHeader(ByteBuffer buf, int from, int to, boolean eof) {
+        header.clear();
+        int end = parse(buf, from, to, eof, null);
+        return end == from && !(eof && from == to) ? -1 : end;
+    }
+
+    /**
+     * Column names read by parseHeader
+     */
+    List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Send rows marked for deletion in the mapping's operation column to this sink
+     * instead of the one passed to parse. Only their employee id is set.
+     */
+    void onDelete(Consumer<Employee> deleteSink) {
+        this.deleteSink = deleteSink;
+    }
+
+    /**
+     * Line on which the next unparsed record starts
+     */
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Parse every complete record in [from, to) and hand the employees to the sink.
+     * 'from' must be the start of a record. Returns the position just after the last
+     * complete record; when eof is set the trailing record without a line break is
+     * parsed as well and 'to' is returned.
+     */
+    @SuppressWarnings("fallthrough") // Two states hand their current byte on to the next state
+    int parse(ByteBuffer buf, int from, int to, boolean eof, Consumer<Employee> sink) {
+        int recordStart = from;
+        int fieldCount = 0;
+        int fieldBegin = from;
+        int quoteEnd = from;
+        boolean escaped = false;
+        int state = FIELD_START;
+        int lineBreaks = 0;
+        recordError = null;
+
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == '\n') {
+                lineBreaks++;
+            }
+            switch (state) {
+                case FIELD_START:
+                    if (b == '"') {
+                        state = QUOTED;
+                        fieldBegin = i + 1;
+                        escaped = false;
+                        break;
+                    }
+                    if (b == ' ' || b == '\t') {
+                        break; // Leading blanks are dropped by trimming unless a quote follows
+                    }
+                    state = UNQUOTED;
+                    // fall through
+                case UNQUOTED:
+                    if (b == ',') {
+                        endField(fieldCount++, fieldBegin, i, false, false);
+                        fieldBegin = i + 1;
+                        state = FIELD_START;
+                    } else if (b == '\n') {
+                        endField(fieldCount++, fieldBegin, i, false, false);
+                        emitRecord(buf, fieldCount, recordStart, i, sink);
+                        lineNumber += lineBreaks;
+                        lineBreaks = 0;
+                        recordStart = i + 1;
+                        if (mapping == null) {
+                            return recordStart; // Only one header row
+                        }
+                        fieldCount = 0;
+                        fieldBegin = recordStart;
+                        state = FIELD_START;
+                    }
+                    break;
+                case QUOTED:
+                    if (b == '"') {
+                        quoteEnd = i;
+                        state = QUOTE_IN_QUOTED;
+                    }
+                    break;
+                case QUOTE_IN_QUOTED:
+                    if (b == '"') {
+                        escaped = true; // "" inside a quoted field is a literal quote
+                        state = QUOTED;
+                        break;
+                    }
+                    state = AFTER_QUOTED;
+                    // fall through
+                case AFTER_QUOTED:
+                    if (b == ',') {
+                        endField(fieldCount++, fieldBegin, quoteEnd, true, escaped);
+                        fieldBegin = i + 1;
+                        state = FIELD_START;
+                    } else if (b == '\n') {
+                        endField(fieldCount++, fieldBegin, quoteEnd, true, escaped);
+                        emitRecord(buf, fieldCount, recordStart, i, sink);
+                        lineNumber += lineBreaks;
+                        lineBreaks = 0;
+                        recordStart = i + 1;
+                        if (mapping == null) {
+                            return recordStart; // Only one header row
+                        }
+                        fieldCount = 0;
+                        fieldBegin = recordStart;
+                        state = FIELD_START;
+                    } else if (b != ' ' && b != '\t' && b != '\r') {
+                        String error = "Unexpected character '" + (char) b + "' after closing quote";
+                        if (rejects == null) {
+                            throw new IllegalArgumentException(error + " on line " + (lineNumber + lineBreaks));
+                        }
+                        // Remember the problem and scan on to the end of the record
+                        recordError = error;
+                        state = UNQUOTED;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown parser state " + state);
+            }
+        }
+
+        if (eof && recordStart < to) {
+            if (state == QUOTE_IN_QUOTED || state == AFTER_QUOTED) {
+                endField(fieldCount++, fieldBegin, quoteEnd, true, escaped);
+            } else {
+                // An unterminated quoted field keeps everything up to the end of input
+                endField(fieldCount++, fieldBegin, to, state == QUOTED, escaped);
+            }
+            emitRecord(buf, fieldCount, recordStart, to, sink);
+            lineNumber += lineBreaks;
+            return to;
+        }
+        return recordStart;
+    }
+
+    /**
+     * The state parse moves to from 'state' on byte b, following only what decides
+     * where records end; RECORD_END marks a line break that ends one. Lets a range of
+     * a file be scanned from every possible state before its real start state is known.
+     * A stray character after a closing quote continues as an unquoted field, as it
+     * does when rejects are logged.
+     */
+    static int nextScanState(int state, byte b) {
+        switch (state) {
+            case FIELD_START:
+            case RECORD_END:
+                if (b == '"') {
+                    return QUOTED;
+                }
+                if (b == ' ' || b == '\t') {
+                    return FIELD_START;
+                }
+                return nextScanState(UNQUOTED, b);
+            case UNQUOTED:
+                return b == ',' ? FIELD_START : b == '\n' ? RECORD_END : UNQUOTED;
+            case QUOTED:
+                return b == '"' ? QUOTE_IN_QUOTED : QUOTED;
+            case QUOTE_IN_QUOTED:
+                return b == '"' ? QUOTED : nextScanState(AFTER_QUOTED, b);
+            case AFTER_QUOTED:
+                if (b == ',') {
+                    return FIELD_START;
+                }
+                if (b == '\n') {
+                    return RECORD_END;
+                }
+                return b == ' ' || b == '\t' || b == '\r' ? AFTER_QUOTED : UNQUOTED;
+            default:
+                throw new IllegalStateException("Unknown parser state " + state);
+        }
+    }
+
+    private void endField(int field, int start, int end, boolean quoted, boolean escaped) {
+        if (field < trackedFields) {
+            if (field == fieldStart.length) {
+                allocateFields(field * 2); // Header rows can be of any width
+            }
+            fieldStart[field] = start;
+            fieldEnd[field] = end;
+            fieldQuoted[field] = quoted;
+            fieldEscaped[field] = escaped;
+        }
+    }
+
+    private void allocateFields(int capacity) {
+        if (fieldStart == null) {
+            fieldStart = new int[capacity];
+            fieldEnd = new int[capacity];
+            fieldQuoted = new boolean[capacity];
+            fieldEscaped = new boolean[capacity];
+        } else {
+            fieldStart = Arrays.copyOf(fieldStart, capacity);
+            fieldEnd = Arrays.copyOf(fieldEnd, capacity);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, capacity);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, capacity);
+        }
+    }
+
+    private void emitRecord(ByteBuffer buf, int fieldCount, int recordStart, int recordEnd, Consumer<Employee> sink) {
+        if (mapping == null) {
+            for (int f = 0; f < fieldCount; f++) {
+                trimField(buf, f);
+                header.add(string(buf, f));
+            }
+            return;
+        }
+        if (recordError != null) {
+            reject(buf, recordError, recordStart, recordEnd);
+            recordError = null;
+            return;
+        }
+        boolean delete;
+        try {
+            delete = isDelete(buf, fieldCount);
+        } catch (IllegalArgumentException e) {
+            if (rejects == null) {
+                throw e;
+            }
+            reject(buf, e.getMessage(), recordStart, recordEnd);
+            return;
+        }
+
+        // Rows too short to hold every projected column are ignored, as in the original
+        // loader; a lenient load reports them unless the line is blank
+        int width = delete ? mapping.deleteWidth() : mapping.width();
+        if (fieldCount < width) {
+            if (rejects != null && !isBlank(buf, recordStart, recordEnd)) {
+                reject(buf, "Expected at least " + width + " fields but found " + fieldCount,
+                        recordStart, recordEnd);
+            }
+            return;
+        }
+
+        Consumer<Employee> target = delete ? deleteSink : sink;
+        if (rejects == null) {
+            target.accept(toEmployee(buf, delete));
+            return;
+        }
+        Employee employee;
+        try {
+            employee = toEmployee(buf, delete);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            reject(buf, currentColumn + ": " + e.getMessage(), recordStart, recordEnd);
+            return;
+        }
+        target.accept(employee);
+    }
+
+    /**
+     * Read the operation column of a delta row. D or DELETE removes the employee;
+     * an empty value, U, I, UPSERT, UPDATE or INSERT upserts it.
+     */
+    private boolean isDelete(ByteBuffer buf, int fieldCount) {
+        int field = mapping.operationField();
+        if (deleteSink == null || field < 0 || field >= fieldCount) {
+            return false;
+        }
+        trimField(buf, field);
+        String operation = string(buf, field).toUpperCase(Locale.ROOT);
+        switch (operation) {
+            case "D":
+            case "DELETE":
+                return true;
+            case "":
+            case "U":
+            case "I":
+            case "UPSERT":
+            case "UPDATE":
+            case "INSERT":
+                return false;
+            default:
+                throw new IllegalArgumentException("Unknown operation '" + operation + "'");
+        }
+    }
+
+    private Employee toEmployee(ByteBuffer buf, boolean idOnly) {
+        Employee employee = new Employee();
+        for (int f = 0; f < mapping.width(); f++) {
+            EmployeeColumn column = mapping.columnAt(f);
+            if (column == null || (idOnly && column != EmployeeColumn.ID)) {
+                continue; // Not projected: never decoded
+            }
+            currentColumn = column;
+            trimField(buf, f);
+            switch (column) {
+                case ID: employee.setEmployeeId(parseInt(buf, f)); break;
+                case FIRST_NAME: employee.setFirstName(string(buf, f)); break;
+                case LAST_NAME: employee.setLastName(string(buf, f)); break;
+                case EMAIL: employee.setEmail(string(buf, f)); break;
+                case DEPARTMENT: employee.setDepartment(internedString(buf, f, departments)); break;
+                case POSITION: employee.setPosition(internedString(buf, f, positions)); break;
+                case SALARY: employee.setSalary(parseSalary(buf, f)); break;
+                case HIRE_DATE: employee.setHireDate(parseDate(buf, f)); break;
+                case PHONE: employee.setPhoneNumber(string(buf, f)); break;
+                case ADDRESS: employee.setAddress(string(buf, f)); break;
+                default: throw new IllegalStateException("Unhandled column " + column);
+            }
+        }
+        return employee;
+    }
+
+    private void reject(ByteBuffer buf, String reason, int recordStart, int recordEnd) {
+        int end = recordEnd;
+        if (end > recordStart && buf.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] raw = new byte[end - recordStart];
+        buf.get(recordStart, raw);
+        rejects.reject(lineNumber, reason, new String(raw, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buf.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void trimField(ByteBuffer buf, int f) {
+        if (fieldQuoted[f]) {
+            return; // Quoted content is kept exactly as written
+        }
+        int start = fieldStart[f];
+        int end = fieldEnd[f];
+        while (start < end && (buf.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        fieldStart[f] = start;
+        fieldEnd[f] = end;
+    }
+
+    /**
+     * Parse a plain decimal int without creating a String; anything unusual goes
+     * through Integer.parseInt so errors are reported the same way as before
+     */
+    private int parseInt(ByteBuffer buf, int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        int length = end - start;
+        if (length == 0 || length > 9) {
+            return Integer.parseInt(string(buf, field));
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(string(buf, field));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parse a salary straight from the buffer, falling back to Double.parseDouble
+     * for anything that is not a plain decimal
+     */
+    private double parseSalary(ByteBuffer buf, int field) {
+        if (!fieldEscaped[field]) {
+            double value = FieldParsers.parseDecimal(buf, fieldStart[field], fieldEnd[field]);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(string(buf, field));
+    }
+
+    /**
+     * Parse a yyyy-MM-dd hire date straight from the buffer, falling back to the
+     * formatter for anything the fast path does not accept
+     */
+    private LocalDate parseDate(ByteBuffer buf, int field) {
+        int packed = fieldEscaped[field] ? -1 : FieldParsers.parseIsoDate(buf, fieldStart[field], fieldEnd[field]);
+        if (packed < 0) {
+            return LocalDate.parse(string(buf, field), DATE_FORMAT);
+        }
+
+        int slot = (packed ^ (packed >>> 10)) & (DATE_CACHE_SIZE - 1);
+        if (cachedDateKeys[slot] != packed) {
+            cachedDates[slot] = FieldParsers.toLocalDate(packed);
+            cachedDateKeys[slot] = packed;
+        }
+        return cachedDates[slot];
+    }
+
+    private String string(ByteBuffer buf, int field) {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (fieldEscaped[field]) {
+            return unescape(buf, start, length);
+        }
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buf.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String internedString(ByteBuffer buf, int field, StringInterner interner) {
+        if (fieldEscaped[field]) {
+            return string(buf, field);
+        }
+        return interner.intern(buf, fieldStart[field], fieldEnd[field]);
+    }
+
+    /**
+     * Copy a quoted field into a String, collapsing each doubled quote into one
+     */
+    private String unescape(ByteBuffer buf, int start, int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        int out = 0;
+        for (int i = start; i < start + length; i++) {
+            byte b = buf.get(i);
+            scratch[out++] = b;
+            if (b == '"') {
+                i++; // Skip the second quote of the pair
+            }
+        }
+        return new String(scratch, 0, out, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Pulls employees out of a CSV input stream on demand.
+ * Only one buffer of bytes and the records parsed from it are held at a time,
+ * so a stream over a file larger than the heap runs in constant memory.
+ */
+class EmployeeCsvSpliterator extends Spliterators.AbstractSpliterator<Employee> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final Set<EmployeeColumn> columns;
+    private final RejectLog rejects;
+    private final ArrayDeque<Employee> pending = new ArrayDeque<>();
+
+    // Created once the header row has been read
+    private EmployeeCsvParser parser;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int filled;
+    private boolean eof;
+
+    /**
+     * Malformed rows go to the reject log if one is given; otherwise the first one fails the stream
+     */
+    EmployeeCsvSpliterator(InputStream in, Set<EmployeeColumn> columns, RejectLog rejects) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.in = in;
+        this.columns = columns;
+        this.rejects = rejects;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Employee> action) {
+        while (pending.isEmpty()) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        action.accept(pending.poll());
+        return true;
+    }
+
+    /**
+     * Read the next block of input and parse every complete record in it.
+     * Returns false once the input is exhausted and fully parsed.
+     */
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        if (filled == buffer.length) {
+            // A single record is larger than the buffer
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, filled);
+            buffer = larger;
+        }
+
+        try {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                eof = true;
+            } else {
+                filled += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, filled);
+        int from = 0;
+        if (parser == null) {
+            EmployeeCsvParser headerParser = new EmployeeCsvParser();
+            from = headerParser.parseHeader(bytes, 0, filled, eof);
+            if (from < 0) {
+                return true; // Header not complete yet
+            }
+            ColumnMapping mapping = ColumnMapping.fromHeader(headerParser.getHeader(), columns);
+            parser = new EmployeeCsvParser(mapping, rejects, headerParser.getLineNumber());
+        }
+
+        int consumed = parser.parse(bytes, from, filled, eof, pending::add);
+        // Keep the unfinished record at the start of the buffer for the next read
+        System.arraycopy(buffer, consumed, buffer, 0, filled - consumed);
+        filled -= consumed;
+        return true;
+    }
+}
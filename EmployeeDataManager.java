@@ -1,31 +1,63 @@
 package com.harshitha.pdfreport.data;
 
 import com.harshitha.pdfreport.model.Employee;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import com.harshitha.pdfreport.model.EmployeeRecord;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Manages employee data - can read from CSV or provide sample data
+ * Safe to share between threads. Reads never lock: they query the currently published
+ * immutable dataset. Single-employee changes lock only their id's stripe, so their
+ * journal writes proceed side by side; publishing is serialized, and changes that
+ * arrive together are published in one new version. Loads, deltas and journal
+ * checkpoints replace many rows and run exclusively. The employees handed out are
+ * frozen; copy one with Employee.copyOf to change it and upsert the copy.
  */
 public class EmployeeDataManager {
 
-    private List<Employee> employees;
+    private static final int LOCK_STRIPES = 64; // Power of two
+
+    // Current immutable version; readers take one reference and query it without locking
+    private volatile EmployeeDataset current;
+    // Shared by single-employee writers, exclusive for bulk changes and checkpoints
+    private final ReentrantReadWriteLock bulkLock = new ReentrantReadWriteLock();
+    // Orders the journal entry and the publish of changes to the same employee
+    private final Lock[] stripes = new Lock[LOCK_STRIPES];
+    // Single-employee changes logged but not yet published, and the lock held to publish them
+    private final ConcurrentLinkedQueue<Map.Entry<Integer, Employee>> unpublished = new ConcurrentLinkedQueue<>();
+    private final Lock publishLock = new ReentrantLock();
+    // Null unless changes are being made durable with openJournal
+    private volatile EmployeeJournal journal;
 
     public EmployeeDataManager() {
-        this.employees = new ArrayList<>();
-        loadSampleData(); // Load sample data by default
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        current = EmployeeDataset.wrap(loadSampleData()); // Load sample data by default
     }
 
     /**
      * Load sample employee data for demonstration
      */
-    private void loadSampleData() {
+    private static List<Employee> loadSampleData() {
+        List<Employee> employees = new ArrayList<>();
         employees.add(new Employee(1001, "John", "Smith", "john.smith@company.com",
                 "Engineering", "Software Engineer", 75000.0, LocalDate.of(2022, 3, 15),
                 "+1-555-0123", "123 Main St, Anytown, USA"));
@@ -65,105 +97,617 @@ public class EmployeeDataManager {
         employees.add(new Employee(1010, "Amanda", "Thomas", "amanda.thomas@company.com",
                 "HR", "HR Manager", 72000.0, LocalDate.of(2021, 4, 12),
                 "+1-555-0132", "741 Ash St, Thistown, USA"));
+        return employees;
     }
 
     /**
      * Load employee data from CSV file
      * CSV format: id,firstName,lastName,email,department,position,salary,hireDate,phone,address
+     * Fields may be quoted as described in RFC 4180, so values such as addresses can
+     * contain commas, doubled quotes or line breaks. Columns are matched by their
+     * header names, so they may appear in any order.
      */
     public void loadFromCSV(String filename) throws IOException {
-        employees.clear();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        List<Employee> loaded = new ArrayList<>();
+        forEachFromCSV(filename, loaded::add);
+        replaceEmployees(loaded); // Only replace the current data once the whole file is read
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line;
-            boolean isFirstLine = true;
+    /**
+     * Load employee data from CSV file through a memory-mapped view.
+     * Same format as loadFromCSV, but fields are parsed straight from the mapped
+     * bytes, which keeps allocation low for very large extracts.
+     */
+    public void loadFromCSVMapped(String filename) throws IOException {
+        List<Employee> loaded = new ArrayList<>();
+        new MappedCsvReader().read(Paths.get(filename), loaded::add);
+        replaceEmployees(loaded);
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false; // Skip header
-                    continue;
+    /**
+     * Load employee data from CSV file with the byte-level loader and the given options.
+     * With a parallelism above 1 the file is parsed in record-aligned chunks on a
+     * worker pool; the resulting list is in file order either way. Columns left out
+     * of the options' projection are skipped at the byte level and stay unset.
+     * In lenient mode malformed rows are skipped and logged to the reject file, and
+     * the load only fails once they exceed the error budget. The current data is kept
+     * if the load fails. gzip and deflate files are decompressed on the fly; for
+     * block-gzipped files the parallelism is used to inflate blocks concurrently.
+     * With a snapshot file the CSV is only parsed when the snapshot is missing, stale
+     * or corrupt, and a fresh snapshot is written after every clean load.
+     * Readers keep querying the previous version until the new one is complete.
+     */
+    public LoadReport loadFromCSV(String filename, CsvLoadOptions options) throws IOException {
+        long started = System.nanoTime();
+        Path path = Paths.get(filename);
+        Path snapshot = options.getSnapshotFile();
+        EmployeeSnapshot.Source source = null;
+
+        if (snapshot != null) {
+            source = EmployeeSnapshot.Source.of(path);
+            List<Employee> restored = EmployeeSnapshot.read(snapshot, source, options.getColumns());
+            if (restored != null) {
+                replaceEmployees(restored);
+                return new LoadReport(restored.size(), 0, System.nanoTime() - started);
+            }
+        }
+
+        List<Employee> loaded = new ArrayList<>();
+        long rejected = parseCSV(path, options, loaded::add);
+        replaceEmployees(loaded);
+        IOException snapshotFailure = null;
+        // A snapshot would hide the rejected rows from the next load's reject file
+        if (snapshot != null && rejected == 0) {
+            snapshotFailure = writeSnapshot(snapshot, source, options, loaded);
+        }
+        return new LoadReport(loaded.size(), rejected, System.nanoTime() - started, snapshotFailure);
+    }
+
+    /**
+     * Load a CSV file into a columnar table instead of the manager's employee list,
+     * which is left untouched. Parsed rows are copied into the table's columns as
+     * they arrive, so no Employee objects are retained; with a parallelism above 1
+     * the workers hand rows over in small batches, in file order.
+     */
+    public EmployeeTable loadTableFromCSV(String filename, CsvLoadOptions options) throws IOException {
+        EmployeeTable table = new EmployeeTable();
+        parseCSV(Paths.get(filename), options, table::add);
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Parse a CSV file with the options' loader and pass the rows to the sink in file
+     * order; returns the number of rows rejected
+     */
+    private static long parseCSV(Path path, CsvLoadOptions options, Consumer<Employee> sink) throws IOException {
+        try (RejectLog rejects = openRejectLog(options)) {
+            MappedCsvReader reader = new MappedCsvReader(options.getColumns(), rejects);
+            if (CompressedInput.isCompressed(path)) {
+                try (InputStream in = CompressedInput.open(path, options.getParallelism())) {
+                    StreamSupport.stream(new EmployeeCsvSpliterator(in, options.getColumns(), rejects), false)
+                            .forEachOrdered(sink);
                 }
+            } else if (options.getParallelism() > 1) {
+                reader.readParallel(path, options.getParallelism(), sink);
+            } else {
+                reader.read(path, sink);
+            }
+            return rejects == null ? 0 : rejects.getRejectedCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Load a CSV file into an off-heap store, leaving the manager's employee list
+     * untouched. Rows are copied out of the heap as they are parsed, so heap use does
+     * not grow with the file; with a parallelism above 1 the workers hand rows over
+     * in small batches, in file order. The store is closed if the load fails.
+     */
+    public OffHeapEmployeeStore loadOffHeapFromCSV(String filename, CsvLoadOptions options,
+                                                   OffHeapEmployeeStore store) throws IOException {
+        try {
+            parseCSV(Paths.get(filename), options, store::add);
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
 
-                String[] values = line.split(",");
-                if (values.length >= 10) {
-                    Employee employee = new Employee(
-                            Integer.parseInt(values[0].trim()),
-                            values[1].trim(),
-                            values[2].trim(),
-                            values[3].trim(),
-                            values[4].trim(),
-                            values[5].trim(),
-                            Double.parseDouble(values[6].trim()),
-                            LocalDate.parse(values[7].trim(), formatter),
-                            values[8].trim(),
-                            values[9].trim()
-                    );
-                    employees.add(employee);
+    /**
+     * Copy the loaded employees into a columnar table
+     */
+    public EmployeeTable toTable() {
+        return EmployeeTable.of(getDataset().getEmployees());
+    }
+
+    /**
+     * Write the loaded employees to a columnar file that EmployeeColumnFile can query
+     * without parsing; returns the number of rows written. Sorting the employees by
+     * hire date or salary first makes its per-block statistics more selective.
+     */
+    public long saveColumnFile(String filename) throws IOException {
+        return EmployeeColumnFile.write(Paths.get(filename), getDataset().getEmployees());
+    }
+
+    /**
+     * Write the loaded employees to a directory partitioned by department; returns
+     * the number of rows written
+     */
+    public long savePartitioned(String directory) throws IOException {
+        return PartitionedEmployeeStore.write(Paths.get(directory), getDataset().getEmployees());
+    }
+
+    /**
+     * Read one department from a partitioned directory, leaving the manager's
+     * employee list untouched. Only that department's partition is opened, so a
+     * department report does not pay for loading the whole company.
+     */
+    public List<Employee> loadDepartmentFromPartitions(String directory, String department) throws IOException {
+        return PartitionedEmployeeStore.open(Paths.get(directory)).loadDepartment(department);
+    }
+
+    /**
+     * Apply a delta file to the loaded employees instead of reloading everything.
+     * The file has the usual columns plus an optional op column: rows marked D or
+     * DELETE remove the employee with that id, every other row replaces it or adds
+     * it when the id is new. When an id appears more than once the last row wins.
+     */
+    public DeltaReport applyDeltaCSV(String filename) throws IOException {
+        return applyDeltaCSV(filename, new CsvLoadOptions());
+    }
+
+    /**
+     * Apply a delta file, skipping malformed rows as configured in the options.
+     * The whole file is parsed before anything changes, so a failed delta leaves
+     * the current data as it was.
+     */
+    public DeltaReport applyDeltaCSV(String filename, CsvLoadOptions options) throws IOException {
+        long started = System.nanoTime();
+        // Final state per id; a null value means the employee is deleted
+        Map<Integer, Employee> changes = new LinkedHashMap<>();
+        long rejected;
+
+        try (RejectLog rejects = openRejectLog(options)) {
+            new MappedCsvReader(EmployeeColumn.all(), rejects).readDelta(Paths.get(filename),
+                    emp -> changes.put(emp.getEmployeeId(), emp),
+                    emp -> changes.put(emp.getEmployeeId(), null));
+            rejected = rejects == null ? 0 : rejects.getRejectedCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long[] counts;
+        bulkLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.logChanges(changes);
+            }
+            counts = applyChanges(changes);
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+        checkpointIfDue();
+        return new DeltaReport(counts[0], counts[1], counts[2], rejected, System.nanoTime() - started);
+    }
+
+    /**
+     * Insert the employee, or replace the one with the same id.
+     * With a journal open the change is on disk before it is applied.
+     * The employee is copied, so changing it afterwards does not alter the stored data.
+     * Each published change copies the dataset, so prefer applyDeltaCSV for large batches.
+     */
+    public void upsertEmployee(Employee employee) throws IOException {
+        employee = Employee.copyOf(employee);
+        Lock stripe = stripeFor(employee.getEmployeeId());
+        bulkLock.readLock().lock();
+        stripe.lock();
+        try {
+            if (journal != null) {
+                journal.logUpsert(employee);
+            }
+            publish(employee.getEmployeeId(), employee);
+        } finally {
+            stripe.unlock();
+            bulkLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    /**
+     * Remove the employee with this id; returns false if there was none
+     */
+    public boolean removeEmployee(int employeeId) throws IOException {
+        Lock stripe = stripeFor(employeeId);
+        bulkLock.readLock().lock();
+        stripe.lock();
+        try {
+            // Only this stripe or a bulk change could alter this id, and both are held off
+            if (!getDataset().containsEmployee(employeeId)) {
+                return false;
+            }
+            if (journal != null) {
+                journal.logDelete(employeeId);
+            }
+            publish(employeeId, null);
+        } finally {
+            stripe.unlock();
+            bulkLock.readLock().unlock();
+        }
+        checkpointIfDue();
+        return true;
+    }
+
+    /**
+     * Make every change to the employee data durable in a journal directory: changes
+     * are logged before they are applied and the dataset is snapshotted periodically.
+     * A journal that already holds data replaces the current employees with the
+     * recovered ones; a new journal starts from the current employees.
+     */
+    public void openJournal(Path directory) throws IOException {
+        openJournal(EmployeeJournal.open(directory));
+    }
+
+    /**
+     * Attach an opened journal, as described for openJournal(Path)
+     */
+    public void openJournal(EmployeeJournal opened) throws IOException {
+        bulkLock.writeLock().lock();
+        try {
+            closeJournal();
+            try {
+                if (opened.isEmpty()) {
+                    opened.checkpoint(getDataset().getEmployees());
+                } else {
+                    replaceEmployees(new ArrayList<>(opened.getRecoveredEmployees()));
                 }
+            } catch (IOException | RuntimeException e) {
+                opened.close();
+                throw e;
+            }
+            journal = opened;
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The open journal, for its statistics, or null
+     */
+    public EmployeeJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Snapshot the current employees into the journal and empty its log
+     */
+    public void checkpoint() throws IOException {
+        bulkLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.checkpoint(getDataset().getEmployees());
             }
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    public void closeJournal() throws IOException {
+        bulkLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                EmployeeJournal closing = journal;
+                journal = null;
+                closing.close();
+            }
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called without locks held: the snapshot must not miss a change that is logged
+     * but not yet published, so it waits for exclusive access
+     */
+    private void checkpointIfDue() throws IOException {
+        EmployeeJournal open = journal;
+        if (open == null || !open.needsCheckpoint()) {
+            return;
+        }
+        bulkLock.writeLock().lock();
+        try {
+            // Another writer may have checkpointed while this one waited
+            if (journal != null && journal.needsCheckpoint()) {
+                journal.checkpoint(getDataset().getEmployees());
+            }
+        } finally {
+            bulkLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Publish a new version with upserts and deletes (null values) applied by id;
+     * returns inserted, updated and deleted counts. Callers hold the bulk write lock,
+     * so no single-employee change is being published meanwhile.
+     */
+    private long[] applyChanges(Map<Integer, Employee> changes) {
+        long[] counts = new long[3];
+        if (!changes.isEmpty()) {
+            current = current.withChanges(changes, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * Publish a single-employee change (a null employee deletes). Every version copies
+     * the dataset, so concurrent writers share one: each queues its change, and whoever
+     * holds the publish lock applies all queued changes at once. By the time a writer
+     * gets the lock its change is published, by itself or by the writer before it.
+     * Callers hold the id's stripe, so the queue never holds two changes to one id.
+     */
+    private void publish(int employeeId, Employee employee) {
+        unpublished.add(new AbstractMap.SimpleImmutableEntry<>(employeeId, employee));
+        publishLock.lock();
+        try {
+            Map<Integer, Employee> changes = new LinkedHashMap<>(); // Rows are added in arrival order
+            for (Map.Entry<Integer, Employee> change; (change = unpublished.poll()) != null; ) {
+                changes.put(change.getKey(), change.getValue());
+            }
+            if (!changes.isEmpty()) {
+                current = current.withChanges(changes, new long[3]);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private Lock stripeFor(int employeeId) {
+        int h = employeeId * 0x9E3779B9; // Spread consecutive ids over the stripes
+        return stripes[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Swap in a freshly loaded dataset; with a journal open it is snapshotted first,
+     * so the journal never refers to rows of the previous dataset
+     */
+    private void replaceEmployees(List<Employee> loaded) throws IOException {
+        bulkLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.checkpoint(loaded);
+            }
+            current = EmployeeDataset.wrap(loaded);
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The snapshot is only a cache, so failing to write it does not fail the load;
+     * the failure is returned for the load report instead, or null once written
+     */
+    private static IOException writeSnapshot(Path snapshot, EmployeeSnapshot.Source source, CsvLoadOptions options,
+                                             List<Employee> loaded) {
+        try {
+            EmployeeSnapshot.write(snapshot, source, options.getColumns(), loaded);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    private static RejectLog openRejectLog(CsvLoadOptions options) throws IOException {
+        return options.isLenient() ? new RejectLog(options.getRejectFile(), options.getMaxRejectedRows()) : null;
+    }
+
+    /**
+     * Stream employees from a CSV file without loading them into the manager.
+     * Rows are parsed lazily as the stream is consumed, so memory use stays flat
+     * however large the file is. Compressed files are inflated on the fly.
+     * Close the stream to release the file.
+     */
+    public Stream<Employee> streamFromCSV(String filename) throws IOException {
+        return streamFromCSV(filename, new CsvLoadOptions());
+    }
+
+    /**
+     * Stream employees from a CSV file, materializing only the columns selected in
+     * the options
+     */
+    public Stream<Employee> streamFromCSV(String filename, CsvLoadOptions options) throws IOException {
+        InputStream in = CompressedInput.open(Paths.get(filename), options.getParallelism());
+        RejectLog rejects;
+        try {
+            rejects = openRejectLog(options);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        return StreamSupport.stream(new EmployeeCsvSpliterator(in, options.getColumns(), rejects), false)
+                .onClose(() -> {
+                    try {
+                        try {
+                            in.close();
+                        } finally {
+                            if (rejects != null) {
+                                rejects.close();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Pass every employee in a CSV file to the callback, one row at a time
+     */
+    public void forEachFromCSV(String filename, Consumer<Employee> action) throws IOException {
+        try (Stream<Employee> rows = streamFromCSV(filename)) {
+            rows.forEach(action);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The current version of the employee data. It never changes, so a report that
+     * queries only this dataset sees consistent data even while a reload or delta
+     * is applied; call again to pick up later changes.
+     */
+    public EmployeeDataset getDataset() {
+        return current;
+    }
+
+    /**
+     * Stream the loaded employees without copying them
+     */
+    public Stream<Employee> streamEmployees() {
+        return getDataset().stream();
+    }
+
     /**
      * Get all employees
      */
     public List<Employee> getAllEmployees() {
-        return new ArrayList<>(employees);
+        return new ArrayList<>(getDataset().getEmployees());
+    }
+
+    /**
+     * Get immutable copies of all employees, safe to hand to other threads
+     */
+    public List<EmployeeRecord> getEmployeeRecords() {
+        List<Employee> employees = getDataset().getEmployees();
+        List<EmployeeRecord> records = new ArrayList<>(employees.size());
+        for (Employee emp : employees) {
+            records.add(emp.toRecord());
+        }
+        return records;
+    }
+
+    /**
+     * Run a query against the current data; see EmployeeQuery
+     */
+    public QueryResult query(EmployeeQuery query) {
+        return getDataset().query(query);
     }
 
     /**
      * Get employees by department
      */
     public List<Employee> getEmployeesByDepartment(String department) {
-        return employees.stream()
-                .filter(emp -> emp.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        return getDataset().getEmployeesByDepartment(department);
     }
 
     /**
-     * Get employees with salary above threshold
+     * Get employees with salary above threshold, highest paid first
      */
     public List<Employee> getHighEarners(double salaryThreshold) {
-        return employees.stream()
-                .filter(emp -> emp.getSalary() > salaryThreshold)
-                .collect(Collectors.toList());
+        return getDataset().getHighEarners(salaryThreshold);
+    }
+
+    /**
+     * Get employees with salary from min to max inclusive, highest paid first
+     */
+    public List<Employee> getEmployeesInSalaryRange(double minSalary, double maxSalary) {
+        return getDataset().getEmployeesInSalaryRange(minSalary, maxSalary);
     }
 
     /**
-     * Get employees hired in a specific year
+     * Get all employees, highest paid first
+     */
+    public List<Employee> getEmployeesBySalaryDescending() {
+        return getDataset().getEmployeesBySalaryDescending();
+    }
+
+    /**
+     * Get the salary rank of an employee, 1 for the highest paid, or 0 if unknown
+     */
+    public int getSalaryRank(int employeeId) {
+        return getDataset().getSalaryRank(employeeId);
+    }
+
+    /**
+     * Get employees hired in a specific year, earliest first
      */
     public List<Employee> getEmployeesHiredInYear(int year) {
-        return employees.stream()
-                .filter(emp -> emp.getHireDate().getYear() == year)
-                .collect(Collectors.toList());
+        return getDataset().getEmployeesHiredInYear(year);
+    }
+
+    /**
+     * Get employees hired from one date to another inclusive, earliest first
+     */
+    public List<Employee> getEmployeesHiredBetween(LocalDate from, LocalDate to) {
+        return getDataset().getEmployeesHiredBetween(from, to);
+    }
+
+    /**
+     * Get employees hired in a quarter (1 to 4) of a year
+     */
+    public List<Employee> getEmployeesHiredInQuarter(int year, int quarter) {
+        return getDataset().getEmployeesHiredInQuarter(year, quarter);
+    }
+
+    /**
+     * Get employees hired in a month (1 to 12) of a year
+     */
+    public List<Employee> getEmployeesHiredInMonth(int year, int month) {
+        return getDataset().getEmployeesHiredInMonth(year, month);
+    }
+
+    /**
+     * Get employees hired in the last given number of days, today included.
+     * Hire dates after today are left out.
+     */
+    public List<Employee> getEmployeesHiredInLastDays(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive: " + days);
+        }
+        LocalDate today = LocalDate.now();
+        return getDataset().getEmployeesHiredBetween(today.minusDays(days - 1L), today);
+    }
+
+    /**
+     * Get the most recent hire date, or null if no employee has one
+     */
+    public LocalDate getLatestHireDate() {
+        return getDataset().getLatestHireDate();
     }
 
     /**
      * Get unique departments
      */
     public List<String> getUniqueDepartments() {
-        return employees.stream()
-                .map(Employee::getDepartment)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getDepartmentCounts().keySet());
+    }
+
+    /**
+     * Get the number of employees in a department, ignoring case
+     */
+    public int getEmployeeCountInDepartment(String department) {
+        return getDataset().getEmployeeCountInDepartment(department);
+    }
+
+    /**
+     * Get the number of employees in each department, sorted by department
+     */
+    public Map<String, Integer> getDepartmentCounts() {
+        return getDataset().getDepartmentCounts();
     }
 
     /**
      * Get employee count
      */
     public int getEmployeeCount() {
-        return employees.size();
+        return getDataset().size();
     }
 
     /**
      * Get average salary
      */
     public double getAverageSalary() {
-        return employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+        return getDataset().getAverageSalary();
     }
 }
\ No newline at end of file
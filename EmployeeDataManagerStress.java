@@ -0,0 +1,190 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs readers against concurrent single-employee writers and checks what the
+ * readers see: versions never go backwards, department counts add up to the size of
+ * the version, and an id looked up returns that employee. Sweeps 1 to 64 reader
+ * threads; run with optional rows (default 100,000), writer threads (default 4) and
+ * seconds per setting (default 2). Prints reads/s, writes/s, versions published and
+ * the number of inconsistent reads, which must be zero.
+ * <p>
+ * Also checks that writes do not collapse: a lone writer on ten times fewer rows may
+ * be at most three times faster, since a write should not cost time per row, and
+ * while readers are added writes/s must keep at least a quarter of the writers' fair
+ * share of the processors. Exits with status 1 when a check fails.
+ */
+public final class EmployeeDataManagerStress {
+
+    private static final int[] READER_THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Finance", "HR", "Sales"};
+
+    private EmployeeDataManagerStress() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 2;
+
+        long nanos = seconds * 1_000_000_000L;
+        boolean failed = false;
+
+        System.out.printf("%-8s %-8s %14s %12s %10s %14s%n",
+                "readers", "writers", "reads/s", "writes/s", "versions", "inconsistent");
+        int fewerRows = Math.max(1, rows / 10);
+        double[] small = run(load(fewerRows), fewerRows, 0, 1, nanos);
+        EmployeeDataManager manager = load(rows);
+        double[] large = run(manager, rows, 0, 1, nanos);
+        if (large[1] * 3 < small[1]) {
+            System.out.printf("FAIL: writes/s fell from %.0f at %,d rows to %.0f at %,d rows%n",
+                    small[1], fewerRows, large[1], rows);
+            failed = true;
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        double baseline = 0;
+        for (int readers : READER_THREADS) {
+            double[] rates = run(manager, rows, readers, writers, nanos);
+            failed |= rates[2] > 0;
+            // Writers' share of the processors when every thread is busy
+            double share = Math.min(1.0, (double) processors / (writers + readers));
+            if (readers == READER_THREADS[0]) {
+                baseline = rates[1] / share;
+            } else if (rates[1] < 0.25 * baseline * share) {
+                System.out.printf("FAIL: writes/s collapsed to %.0f with %d readers, expected at least %.0f%n",
+                        rates[1], readers, 0.25 * baseline * share);
+                failed = true;
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static EmployeeDataManager load(int rows) throws IOException {
+        EmployeeDataManager manager = new EmployeeDataManager();
+        Path csv = Files.createTempFile("stress", ".csv");
+        try {
+            writeCsv(csv, rows);
+            manager.loadFromCSV(csv.toString());
+        } finally {
+            Files.delete(csv);
+        }
+        return manager;
+    }
+
+    /**
+     * Reads/s, writes/s and the number of inconsistent reads
+     */
+    private static double[] run(EmployeeDataManager manager, int rows, int readers, int writers, long nanos)
+            throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong inconsistent = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long lastVersion = 0;
+                long done = 0;
+                while (!stop.get()) {
+                    EmployeeDataset dataset = manager.getDataset();
+                    if (dataset.getVersion() < lastVersion || !consistent(dataset, random.nextInt(rows * 2))) {
+                        inconsistent.incrementAndGet();
+                    }
+                    lastVersion = dataset.getVersion();
+                    done++;
+                }
+                reads.addAndGet(done);
+            }));
+        }
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                try {
+                    while (!stop.get()) {
+                        // Updates move employees between departments; ids past the
+                        // loaded rows come and go
+                        int id = random.nextInt(rows * 2);
+                        if (id >= rows && random.nextBoolean()) {
+                            manager.removeEmployee(id);
+                        } else {
+                            manager.upsertEmployee(employee(id, random.nextInt(DEPARTMENTS.length)));
+                        }
+                        done++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+                writes.addAndGet(done);
+            }));
+        }
+
+        long versionBefore = manager.getDataset().getVersion();
+        long started = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(nanos / 1_000_000);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - started;
+        if (!failures.isEmpty()) {
+            throw new IOException("Stress run failed", failures.get(0));
+        }
+
+        double[] rates = {reads.get() * 1e9 / elapsed, writes.get() * 1e9 / elapsed, inconsistent.get()};
+        System.out.printf("%-8d %-8d %14.0f %12.0f %10d %14d%n", readers, writers, rates[0], rates[1],
+                manager.getDataset().getVersion() - versionBefore, inconsistent.get());
+        return rates;
+    }
+
+    private static boolean consistent(EmployeeDataset dataset, int id) {
+        int counted = 0;
+        for (int count : dataset.getDepartmentCounts().values()) {
+            counted += count;
+        }
+        Employee emp = dataset.getEmployee(id);
+        return counted == dataset.size() && (emp == null || emp.getEmployeeId() == id);
+    }
+
+    private static void writeCsv(Path file, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,firstName,lastName,email,department,position,salary,hireDate,phone,address\n");
+            for (int i = 0; i < rows; i++) {
+                Employee emp = employee(i, i % DEPARTMENTS.length);
+                writer.write(emp.getEmployeeId() + "," + emp.getFirstName() + "," + emp.getLastName() + ","
+                        + emp.getEmail() + "," + emp.getDepartment() + "," + emp.getPosition() + ","
+                        + emp.getSalary() + "," + emp.getHireDate() + "," + emp.getPhoneNumber() + ",\""
+                        + emp.getAddress() + "\"\n");
+            }
+        }
+    }
+
+    private static Employee employee(int id, int department) {
+        return new Employee(id, "First" + id, "Last" + id, "employee" + id + "@company.com",
+                DEPARTMENTS[department], "Specialist", 40_000 + id % 60_000,
+                LocalDate.of(2015, 1, 1).plusDays(id % 3000), "+1-555-0100", id + " Main St, Anytown, USA");
+    }
+}
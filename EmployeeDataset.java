@@ -0,0 +1,395 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One immutable version of the employee data.
+ * EmployeeDataManager publishes a new dataset for every reload or change, so a reader
+ * that holds on to a dataset sees the same rows however long it runs, without locking.
+ * Rows live in persistent chunks (EmployeeRows), and a changed version shares every
+ * chunk it does not write, so applying a change costs time per changed row that does
+ * not grow with the number of employees. The id index and the department index are
+ * persistent too: built on first use or first change, then carried into changed
+ * versions and updated for the changed rows only. Removed rows leave empty slots until they outnumber the
+ * employees, when the next change compacts the rows and its indexes start afresh.
+ * The department index makes department queries cost time proportional to their
+ * result. Concurrent readers may both build an index, and either result is correct.
+ * The same goes for the salary index behind the salary queries, whose results come
+ * highest paid first, and the hire-date index behind the hire queries, whose results
+ * come earliest first; those are built per version on first use.
+ * Employees handed in from outside are copied, so the caller's objects cannot change
+ * a version, and every employee a version holds is frozen: the Employee objects
+ * handed out are read-only, so no caller can change a version or leave its indexes
+ * stale. To edit one, change a copy from Employee.copyOf and upsert that.
+ */
+public final class EmployeeDataset {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final EmployeeRows rows;
+    private final long version;
+    private volatile List<Employee> employees; // Without empty slots, in slot order
+    private volatile IdIndex idIndex;
+    private volatile DepartmentIndex departmentIndex;
+    private volatile SalaryIndex salaryIndex;
+    private volatile HireDateIndex hireDateIndex;
+    private volatile EmployeeBitmapIndex bitmapIndex;
+
+    private EmployeeDataset(EmployeeRows rows, IdIndex idIndex, DepartmentIndex departmentIndex) {
+        this.rows = rows;
+        this.version = VERSIONS.incrementAndGet();
+        this.idIndex = idIndex;
+        this.departmentIndex = departmentIndex;
+    }
+
+    /**
+     * Dataset over copies of the employees
+     */
+    public static EmployeeDataset of(List<Employee> employees) {
+        List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee emp : employees) {
+            copies.add(Employee.copyOf(emp).freeze());
+        }
+        return new EmployeeDataset(EmployeeRows.of(copies), null, null);
+    }
+
+    /**
+     * Dataset over a list nobody else holds on to, without copying it; the employees
+     * are frozen in place
+     */
+    static EmployeeDataset wrap(List<Employee> employees) {
+        for (Employee emp : employees) {
+            emp.freeze();
+        }
+        return new EmployeeDataset(EmployeeRows.of(employees), null, null);
+    }
+
+    /**
+     * Increases with every dataset created, so readers can tell whether data changed
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Read-only view of the rows, in load order
+     */
+    public List<Employee> getEmployees() {
+        List<Employee> list = employees;
+        if (list == null) {
+            list = Collections.unmodifiableList(rows.employees());
+            employees = list;
+        }
+        return list;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public Stream<Employee> stream() {
+        return getEmployees().stream();
+    }
+
+    /**
+     * The employee with this id, or null
+     */
+    public Employee getEmployee(int employeeId) {
+        int slot = getIdIndex().get(employeeId);
+        return slot == IdIndex.ABSENT ? null : rows.get(slot);
+    }
+
+    public boolean containsEmployee(int employeeId) {
+        return getIdIndex().get(employeeId) != IdIndex.ABSENT;
+    }
+
+    /**
+     * Bitmap indexes for combining department, position, hire year and salary
+     * predicates, built on first use with salary bands of DEFAULT_SALARY_BAND
+     */
+    public EmployeeBitmapIndex getBitmapIndex() {
+        EmployeeBitmapIndex index = bitmapIndex;
+        if (index == null) {
+            index = EmployeeBitmapIndex.build(rows.slots(), EmployeeBitmapIndex.DEFAULT_SALARY_BAND);
+            bitmapIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Employees at the rows of a bitmap from this dataset's bitmap index, in list order.
+     * Rows are slots, so bitmaps only apply to the dataset whose index produced them.
+     */
+    public List<Employee> getEmployees(EmployeeBitmap rows) {
+        return employeesAt(rows.toArray());
+    }
+
+    /**
+     * Run a query, answering it from the most selective index
+     */
+    public QueryResult query(EmployeeQuery query) {
+        return QueryPlanner.run(this, query);
+    }
+
+    /**
+     * Employees in the department ignoring case, looked up in the department index
+     */
+    public List<Employee> getEmployeesByDepartment(String department) {
+        return employeesAt(getDepartmentIndex().rows(department));
+    }
+
+    /**
+     * Employees earning more than the threshold, highest paid first
+     */
+    public List<Employee> getHighEarners(double salaryThreshold) {
+        return employeesAt(getSalaryIndex().rowsAbove(salaryThreshold));
+    }
+
+    /**
+     * Employees earning from min to max inclusive, highest paid first
+     */
+    public List<Employee> getEmployeesInSalaryRange(double minSalary, double maxSalary) {
+        return employeesAt(getSalaryIndex().rowsBetween(minSalary, maxSalary));
+    }
+
+    /**
+     * All employees, highest paid first
+     */
+    public List<Employee> getEmployeesBySalaryDescending() {
+        return getHighEarners(Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Number of employees earning more than the salary
+     */
+    public int countEarningMoreThan(double salary) {
+        return getSalaryIndex().countAbove(salary);
+    }
+
+    /**
+     * Salary rank of the employee, 1 for the highest paid; equal salaries share a
+     * rank. Returns 0 when there is no such employee.
+     */
+    public int getSalaryRank(int employeeId) {
+        Employee employee = getEmployee(employeeId);
+        return employee == null ? 0 : getSalaryIndex().countAbove(employee.getSalary()) + 1;
+    }
+
+    /**
+     * The employee at a 1-based rank in salary order, or null past the end
+     */
+    public Employee getEmployeeAtSalaryRank(int rank) {
+        SalaryIndex index = getSalaryIndex();
+        return rank < 1 || rank > index.size() ? null : rows.get(index.row(rank - 1));
+    }
+
+    /**
+     * Employees hired from one date to another inclusive, earliest first.
+     * Employees without a hire date never match the hire queries.
+     */
+    public List<Employee> getEmployeesHiredBetween(LocalDate from, LocalDate to) {
+        return employeesAt(getHireDateIndex().rowsBetween(from, to));
+    }
+
+    public List<Employee> getEmployeesHiredInYear(int year) {
+        return getEmployeesHiredBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Employees hired in a quarter (1 to 4) of the year
+     */
+    public List<Employee> getEmployeesHiredInQuarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be from 1 to 4: " + quarter);
+        }
+        LocalDate from = LocalDate.of(year, quarter * 3 - 2, 1);
+        return getEmployeesHiredBetween(from, from.plusMonths(3).minusDays(1));
+    }
+
+    /**
+     * Employees hired in a month (1 to 12) of the year
+     */
+    public List<Employee> getEmployeesHiredInMonth(int year, int month) {
+        LocalDate from = LocalDate.of(year, month, 1);
+        return getEmployeesHiredBetween(from, from.plusMonths(1).minusDays(1));
+    }
+
+    /**
+     * Employees hired on or after the date
+     */
+    public List<Employee> getEmployeesHiredSince(LocalDate date) {
+        return getEmployeesHiredBetween(date, LocalDate.MAX);
+    }
+
+    public int countHiredBetween(LocalDate from, LocalDate to) {
+        return getHireDateIndex().countBetween(from, to);
+    }
+
+    /**
+     * Most recent hire date, or null when no employee has one
+     */
+    public LocalDate getLatestHireDate() {
+        return getHireDateIndex().latest();
+    }
+
+    /**
+     * Earliest hire date, or null when no employee has one
+     */
+    public LocalDate getEarliestHireDate() {
+        return getHireDateIndex().earliest();
+    }
+
+    /**
+     * Number of employees in the department ignoring case, without collecting them
+     */
+    public int getEmployeeCountInDepartment(String department) {
+        return getDepartmentIndex().count(department);
+    }
+
+    /**
+     * Number of employees in each department, sorted by department
+     */
+    public Map<String, Integer> getDepartmentCounts() {
+        return new TreeMap<>(getDepartmentIndex().counts());
+    }
+
+    public double getAverageSalary() {
+        return stream()
+                .mapToDouble(Employee::getSalary)
+                .average()
+                .orElse(0.0);
+    }
+
+    /**
+     * A new dataset with upserts and deletes (null values) applied by id. This one is
+     * left unchanged. 'counts' receives the inserted, updated and deleted totals.
+     * The upserted employees are frozen, so callers hand in objects nobody else holds.
+     */
+    EmployeeDataset withChanges(Map<Integer, Employee> changes, long[] counts) {
+        IdIndex ids = getIdIndex();
+        EmployeeRows.Editor next = rows.edit();
+        // Slots written, and their departments before the change
+        int[] changedSlots = new int[changes.size()];
+        String[] previousDepartments = new String[changes.size()];
+        int changed = 0;
+        long inserted = 0;
+        long updated = 0;
+        long deleted = 0;
+
+        for (Map.Entry<Integer, Employee> change : changes.entrySet()) {
+            Employee employee = change.getValue() == null ? null : change.getValue().freeze();
+            int slot = ids.get(change.getKey());
+            if (employee == null) {
+                if (slot != IdIndex.ABSENT) {
+                    changedSlots[changed] = slot;
+                    previousDepartments[changed++] = next.get(slot).getDepartment();
+                    next.remove(slot);
+                    ids = ids.without(change.getKey());
+                    deleted++;
+                }
+            } else if (slot != IdIndex.ABSENT) {
+                changedSlots[changed] = slot;
+                previousDepartments[changed++] = next.get(slot).getDepartment();
+                next.set(slot, employee);
+                updated++;
+            } else {
+                slot = next.append(employee);
+                changedSlots[changed++] = slot;
+                ids = ids.with(employee.getEmployeeId(), slot);
+                inserted++;
+            }
+        }
+        counts[0] = inserted;
+        counts[1] = updated;
+        counts[2] = deleted;
+
+        EmployeeRows nextRows = next.build();
+        if (nextRows.slotCount() - nextRows.size() > Math.max(nextRows.size(), EmployeeRows.CHUNK_SIZE)) {
+            // Mostly empty slots: compact, which the removals so far have paid for
+            return new EmployeeDataset(EmployeeRows.of(nextRows.employees()), null, null);
+        }
+        // Built here if missing, like the id index: a reader building it on a version
+        // that writers have already moved past would leave the next versions without one
+        DepartmentIndex departments = getDepartmentIndex().withChangedRows(nextRows.slots(),
+                Arrays.copyOf(changedSlots, changed), previousDepartments);
+        return new EmployeeDataset(nextRows, ids, departments);
+    }
+
+    private List<Employee> employeesAt(int[] slots) {
+        List<Employee> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(rows.get(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Number of slots, including those of removed rows; index rows are slots
+     */
+    int slotCount() {
+        return rows.slotCount();
+    }
+
+    /**
+     * The employee in the slot, or null when its row was removed
+     */
+    Employee employeeAt(int slot) {
+        return rows.get(slot);
+    }
+
+    DepartmentIndex getDepartmentIndex() {
+        DepartmentIndex index = departmentIndex;
+        if (index == null) {
+            index = DepartmentIndex.build(rows.slots());
+            departmentIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * The bitmap index if something has already built it, otherwise null
+     */
+    EmployeeBitmapIndex getBitmapIndexIfBuilt() {
+        return bitmapIndex;
+    }
+
+    SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            index = SalaryIndex.build(rows.slots());
+            salaryIndex = index;
+        }
+        return index;
+    }
+
+    HireDateIndex getHireDateIndex() {
+        HireDateIndex index = hireDateIndex;
+        if (index == null) {
+            index = HireDateIndex.build(rows.slots());
+            hireDateIndex = index;
+        }
+        return index;
+    }
+
+    private IdIndex getIdIndex() {
+        IdIndex index = idIndex;
+        if (index == null) {
+            index = IdIndex.build(rows);
+            idIndex = index;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,545 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable record of changes to an employee dataset: an append-only write-ahead log
+ * plus a compacted snapshot, both kept in one directory.
+ * Every upsert or delete is appended to the log and forced to disk before the call
+ * returns. Writers arriving while a force is in progress are committed together by
+ * the next one (group commit), so concurrent writers share fsyncs. A commit delay
+ * makes each commit wait a little before forcing so more writers can join it,
+ * trading latency per change for fewer fsyncs under load. A checkpoint
+ * writes the whole dataset to a new snapshot and empties the log. On open the
+ * snapshot is loaded and the log entries after it are replayed; a torn entry left
+ * by a crash ends the replay and is cut off.
+ */
+public class EmployeeJournal implements Closeable {
+
+    private static final String LOG_FILE = "employees.wal";
+    private static final String SNAPSHOT_FILE = "employees.snapshot";
+    private static final long SNAPSHOT_MAGIC = 0x454D504A534E4150L; // "EMPJSNAP"
+    private static final int SNAPSHOT_VERSION = 1;
+    // Entry header: payload length, CRC32 of the rest, sequence number and operation
+    private static final int ENTRY_HEADER_SIZE = 4 + 4 + 8 + 1;
+    private static final byte OP_UPSERT = 'U';
+    private static final byte OP_DELETE = 'D';
+
+    private final Path directory;
+    private final FileChannel log;
+    private final long checkpointEvery;
+    private final long commitDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private List<ByteBuffer> pending = new ArrayList<>();
+    private boolean flushing;
+    private IOException failure;
+    private boolean closed;
+    private long lastSequence;
+    private long durableSequence;
+    private long snapshotSequence;
+    private boolean snapshotFound;
+
+    private final List<Employee> recovered;
+    private final long recoveryNanos;
+    private final long entriesReplayed;
+
+    // Statistics, guarded by the lock
+    private long entriesWritten;
+    private long bytesWritten;
+    private long commits;
+    private long snapshotsWritten;
+
+    private EmployeeJournal(Path directory, long checkpointEvery, long commitDelayNanos) throws IOException {
+        long started = System.nanoTime();
+        this.directory = directory;
+        this.checkpointEvery = checkpointEvery;
+        this.commitDelayNanos = commitDelayNanos;
+        Files.createDirectories(directory);
+
+        Map<Integer, Integer> positions = new HashMap<>();
+        List<Employee> state = readSnapshot(directory.resolve(SNAPSHOT_FILE), positions);
+        this.log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.entriesReplayed = replayLog(state, positions);
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        state.removeIf(Objects::isNull);
+        this.recovered = state;
+        this.durableSequence = lastSequence;
+        this.recoveryNanos = System.nanoTime() - started;
+    }
+
+    /**
+     * Open the journal in the directory, creating it if needed, and recover the
+     * dataset it holds
+     */
+    public static EmployeeJournal open(Path directory) throws IOException {
+        return open(directory, 100_000);
+    }
+
+    /**
+     * Open the journal; needsCheckpoint reports true once this many entries have
+     * been logged since the last snapshot
+     */
+    public static EmployeeJournal open(Path directory, long checkpointEvery) throws IOException {
+        return open(directory, checkpointEvery, 0);
+    }
+
+    /**
+     * Open the journal with a group commit delay: each commit waits this many
+     * microseconds before forcing the log, so writers arriving meanwhile share its fsync
+     */
+    public static EmployeeJournal open(Path directory, long checkpointEvery, long commitDelayMicros)
+            throws IOException {
+        if (checkpointEvery < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1: " + checkpointEvery);
+        }
+        if (commitDelayMicros < 0) {
+            throw new IllegalArgumentException("Commit delay cannot be negative: " + commitDelayMicros);
+        }
+        return new EmployeeJournal(directory, checkpointEvery, TimeUnit.MICROSECONDS.toNanos(commitDelayMicros));
+    }
+
+    /**
+     * The dataset as of the last durable change when the journal was opened
+     */
+    public List<Employee> getRecoveredEmployees() {
+        return recovered;
+    }
+
+    /**
+     * Whether the journal held any data when it was opened
+     */
+    public boolean isEmpty() {
+        return !snapshotFound && entriesReplayed == 0;
+    }
+
+    /**
+     * Durably log an insert or replacement of the employee with its id
+     */
+    public void logUpsert(EmployeeView emp) throws IOException {
+        commit(List.of(encodeUpsert(emp)));
+    }
+
+    /**
+     * Durably log the removal of an employee
+     */
+    public void logDelete(int employeeId) throws IOException {
+        commit(List.of(encodeDelete(employeeId)));
+    }
+
+    /**
+     * Durably log a set of changes with a single commit; a null value deletes the id
+     */
+    public void logChanges(Map<Integer, ? extends EmployeeView> changes) throws IOException {
+        List<ByteBuffer> entries = new ArrayList<>(changes.size());
+        for (Map.Entry<Integer, ? extends EmployeeView> change : changes.entrySet()) {
+            entries.add(change.getValue() == null ? encodeDelete(change.getKey()) : encodeUpsert(change.getValue()));
+        }
+        if (!entries.isEmpty()) {
+            commit(entries);
+        }
+    }
+
+    /**
+     * Whether enough entries have been logged since the last snapshot to make a
+     * checkpoint worthwhile
+     */
+    public boolean needsCheckpoint() {
+        lock.lock();
+        try {
+            return lastSequence - snapshotSequence >= checkpointEvery;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the dataset to a new snapshot and empty the log. The employees must
+     * reflect every change logged so far, and no changes may be logged until the
+     * checkpoint returns.
+     */
+    public void checkpoint(Collection<? extends EmployeeView> employees) throws IOException {
+        long sequence;
+        lock.lock();
+        try {
+            checkUsable();
+            sequence = lastSequence;
+        } finally {
+            lock.unlock();
+        }
+
+        writeSnapshot(employees, sequence);
+
+        lock.lock();
+        try {
+            // A crash before this truncation is harmless: replay skips entries the snapshot covers
+            log.truncate(0);
+            log.force(true);
+            snapshotSequence = sequence;
+            snapshotsWritten++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecoveryNanos() { return recoveryNanos; }
+
+    public long getEntriesReplayed() { return entriesReplayed; }
+
+    public long getEntriesWritten() {
+        lock.lock();
+        try {
+            return entriesWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBytesWritten() {
+        lock.lock();
+        try {
+            return bytesWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of forced writes; entries per commit shows how well group commit batches
+     */
+    public long getCommits() {
+        lock.lock();
+        try {
+            return commits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSnapshotsWritten() {
+        lock.lock();
+        try {
+            return snapshotsWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format("Journal %s: %,d entries in %,d commits (%.1f per commit), %,d bytes, "
+                            + "%,d snapshots; recovered %,d employees replaying %,d entries in %.2f s",
+                    directory, entriesWritten, commits, commits == 0 ? 0.0 : (double) entriesWritten / commits,
+                    bytesWritten, snapshotsWritten, recovered.size(), entriesReplayed, recoveryNanos / 1e9);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            // Let an in-progress commit finish before the channel goes away
+            while (flushing) {
+                committed.awaitUninterruptibly();
+            }
+            closed = true;
+            committed.signalAll();
+            log.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue the entries and return once they are on disk. The first waiting writer
+     * becomes the leader: it takes every queued entry, writes and forces them in one
+     * go, then wakes the others.
+     */
+    private void commit(List<ByteBuffer> entries) throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            for (ByteBuffer entry : entries) {
+                entry.putLong(8, ++lastSequence);
+                entry.putInt(4, crc(entry));
+                pending.add(entry);
+            }
+            long sequence = lastSequence;
+
+            while (durableSequence < sequence) {
+                checkUsable();
+                if (flushing) {
+                    committed.await();
+                    continue;
+                }
+                flushing = true;
+                if (commitDelayNanos > 0) {
+                    // Writers arriving during the delay queue their entries and join this batch
+                    lock.unlock();
+                    try {
+                        LockSupport.parkNanos(commitDelayNanos);
+                    } finally {
+                        lock.lock();
+                    }
+                }
+                List<ByteBuffer> batch = pending;
+                pending = new ArrayList<>();
+                long batchEnd = lastSequence;
+                long batchBytes = 0;
+                for (ByteBuffer entry : batch) {
+                    batchBytes += entry.remaining();
+                }
+
+                lock.unlock();
+                IOException error = null;
+                try {
+                    ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+                    long written = 0;
+                    while (written < batchBytes) {
+                        written += log.write(buffers);
+                    }
+                    log.force(false);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+
+                flushing = false;
+                committed.signalAll();
+                if (error != null) {
+                    // Some entries of the batch may be on disk and others not: stop accepting changes
+                    failure = error;
+                    throw error;
+                }
+                durableSequence = batchEnd;
+                entriesWritten += batch.size();
+                bytesWritten += batchBytes;
+                commits++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the journal to commit");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (closed) {
+            throw new IOException("Journal is closed");
+        }
+        if (failure != null) {
+            throw new IOException("Journal failed on an earlier write", failure);
+        }
+    }
+
+    /**
+     * Entry with its sequence number and CRC left blank; both are filled in on commit
+     */
+    private static ByteBuffer encodeUpsert(EmployeeView emp) {
+        ByteBuffer entry = ByteBuffer.allocate(256);
+        while (true) {
+            try {
+                entry.position(ENTRY_HEADER_SIZE);
+                EmployeeCodec.write(emp, entry);
+                break;
+            } catch (BufferOverflowException e) {
+                entry = ByteBuffer.allocate(entry.capacity() * 2);
+            }
+        }
+        return finishEntry(entry, OP_UPSERT);
+    }
+
+    private static ByteBuffer encodeDelete(int employeeId) {
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + 4);
+        entry.position(ENTRY_HEADER_SIZE);
+        entry.putInt(employeeId);
+        return finishEntry(entry, OP_DELETE);
+    }
+
+    private static ByteBuffer finishEntry(ByteBuffer entry, byte op) {
+        entry.flip();
+        entry.putInt(0, entry.limit() - ENTRY_HEADER_SIZE);
+        entry.put(16, op);
+        return entry;
+    }
+
+    /**
+     * CRC32 over everything after the CRC field: sequence, operation and payload
+     */
+    private static int crc(ByteBuffer entry) {
+        CRC32 crc = new CRC32();
+        crc.update(entry.duplicate().position(8));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Apply the log entries newer than the snapshot to the state and cut off a torn
+     * tail. Deleted rows are left as nulls for the caller to compact.
+     */
+    private long replayLog(List<Employee> state, Map<Integer, Integer> positions) throws IOException {
+        long size = log.size();
+        long position = 0;
+        long replayed = 0;
+        lastSequence = snapshotSequence;
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+
+        while (position + ENTRY_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            int payloadLength = header.getInt(0);
+            if (payloadLength < 0 || position + ENTRY_HEADER_SIZE + payloadLength > size) {
+                break; // Torn write
+            }
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + payloadLength);
+            readFully(entry, position);
+            entry.flip();
+            if (crc(entry) != entry.getInt(4)) {
+                break; // Torn or corrupt write
+            }
+
+            long sequence = entry.getLong(8);
+            if (sequence > snapshotSequence) {
+                entry.position(ENTRY_HEADER_SIZE);
+                if (entry.get(16) == OP_DELETE) {
+                    Integer row = positions.remove(entry.getInt());
+                    if (row != null) {
+                        state.set(row, null);
+                    }
+                } else {
+                    Employee emp = EmployeeCodec.read(entry);
+                    Integer row = positions.get(emp.getEmployeeId());
+                    if (row != null) {
+                        state.set(row, emp);
+                    } else {
+                        positions.put(emp.getEmployeeId(), state.size());
+                        state.add(emp);
+                    }
+                }
+                replayed++;
+                lastSequence = sequence;
+            }
+            position += ENTRY_HEADER_SIZE + payloadLength;
+        }
+
+        if (position < size) {
+            log.truncate(position);
+            log.force(true);
+        }
+        log.position(position);
+        return replayed;
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (log.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of journal log");
+            }
+        }
+    }
+
+    /**
+     * Write the snapshot under a temporary name and move it into place. The header
+     * holds the sequence number it covers and a CRC32 of the codec stream after it.
+     */
+    private void writeSnapshot(Collection<? extends EmployeeView> employees, long sequence) throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(8 + 4 + 8 + 8);
+            header.putLong(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(sequence).putLong(0).flip();
+            channel.write(header);
+
+            CRC32 crc = new CRC32();
+            OutputStream body = new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16);
+            EmployeeCodec.writeAll(employees, body);
+            body.flush();
+
+            header.putLong(20, crc.getValue()).rewind();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load the snapshot, if there is one, and index the rows by id
+     */
+    private List<Employee> readSnapshot(Path snapshot, Map<Integer, Integer> positions) throws IOException {
+        List<Employee> state = new ArrayList<>();
+        if (!Files.exists(snapshot)) {
+            return state;
+        }
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16)) {
+            DataInputStream header = new DataInputStream(file);
+            if (header.readLong() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a journal snapshot: " + snapshot);
+            }
+            int version = header.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported journal snapshot version " + version + ": " + snapshot);
+            }
+            snapshotSequence = header.readLong();
+            snapshotFound = true;
+            long expectedCrc = header.readLong();
+
+            CheckedInputStream body = new CheckedInputStream(file, new CRC32());
+            EmployeeCodec.readAll(body, emp -> {
+                positions.put(emp.getEmployeeId(), state.size());
+                state.add(emp);
+            });
+            body.transferTo(OutputStream.nullOutputStream());
+            if (body.getChecksum().getValue() != expectedCrc) {
+                throw new IOException("Journal snapshot is corrupt: " + snapshot);
+            }
+        }
+        return state;
+    }
+}
@@ -0,0 +1,126 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures the journal's durability cost: write throughput and latency per upsert
+ * for a sweep of writer threads and group commit delays, then the time to recover
+ * the dataset from the log alone and from a snapshot. Run with an optional number
+ * of upserts per setting (default 20,000); the journals are written to temporary
+ * directories that are removed afterwards.
+ */
+public final class EmployeeJournalBenchmark {
+
+    private static final int[] WRITER_THREADS = {1, 4, 16, 64};
+    private static final long[] COMMIT_DELAYS_MICROS = {0, 100, 1_000};
+
+    private EmployeeJournalBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int upserts = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        System.out.printf("%-8s %-10s %14s %14s %16s%n",
+                "writers", "delay us", "upserts/s", "mean latency", "entries/commit");
+        for (int writers : WRITER_THREADS) {
+            for (long delay : COMMIT_DELAYS_MICROS) {
+                Path directory = Files.createTempDirectory("journal-bench");
+                try (EmployeeJournal journal = EmployeeJournal.open(directory, Long.MAX_VALUE, delay)) {
+                    writeConcurrently(journal, writers, upserts, delay);
+                } finally {
+                    delete(directory);
+                }
+            }
+        }
+
+        Path directory = Files.createTempDirectory("journal-bench");
+        try {
+            List<Employee> employees = new ArrayList<>();
+            try (EmployeeJournal journal = EmployeeJournal.open(directory, Long.MAX_VALUE)) {
+                for (int i = 0; i < upserts; i++) {
+                    Employee emp = employee(i);
+                    employees.add(emp);
+                    journal.logUpsert(emp);
+                }
+            }
+            try (EmployeeJournal journal = EmployeeJournal.open(directory)) {
+                System.out.printf("Recovery from the log: %,d entries replayed in %.1f ms%n",
+                        journal.getEntriesReplayed(), journal.getRecoveryNanos() / 1e6);
+                journal.checkpoint(employees);
+            }
+            try (EmployeeJournal journal = EmployeeJournal.open(directory)) {
+                System.out.printf("Recovery from a snapshot: %,d employees in %.1f ms%n",
+                        journal.getRecoveredEmployees().size(), journal.getRecoveryNanos() / 1e6);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Split the upserts over the writer threads and report throughput, mean latency
+     * per call and how many entries each fsync carried
+     */
+    private static void writeConcurrently(EmployeeJournal journal, int writers, int upserts, long delay)
+            throws Exception {
+        AtomicLong latencyNanos = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int first = w;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = first; i < upserts; i += writers) {
+                        Employee emp = employee(i);
+                        long started = System.nanoTime();
+                        journal.logUpsert(emp);
+                        latencyNanos.addAndGet(System.nanoTime() - started);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+
+        long started = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - started;
+        if (!failures.isEmpty()) {
+            throw new IOException("Journal benchmark failed", failures.get(0));
+        }
+
+        System.out.printf("%-8d %-10d %14.0f %11.1f us %16.1f%n", writers, delay,
+                upserts * 1e9 / elapsed, latencyNanos.get() / 1e3 / upserts,
+                (double) journal.getEntriesWritten() / journal.getCommits());
+    }
+
+    private static Employee employee(int i) {
+        return new Employee(100_000 + i, "First" + i, "Last" + i, "employee" + i + "@company.com",
+                "Engineering", "Software Engineer", 50_000 + i % 50_000,
+                LocalDate.of(2020, 1, 1).plusDays(i % 1500), "+1-555-0100", i + " Main St, Anytown, USA");
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
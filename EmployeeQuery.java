@@ -0,0 +1,241 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A query over the employees of a dataset: conditions that must all hold, an
+ * optional sort column, a limit and the columns to return. Run it with
+ * EmployeeDataset.query or EmployeeDataManager.query; the planner answers it from
+ * the most selective index and QueryResult.explain shows how.
+ */
+public class EmployeeQuery {
+
+    private final List<Condition> conditions = new ArrayList<>();
+    private EmployeeColumn sortColumn;
+    private boolean descending;
+    private int limit = Integer.MAX_VALUE;
+    private Set<EmployeeColumn> columns = EmployeeColumn.all();
+
+    List<Condition> getConditions() { return Collections.unmodifiableList(conditions); }
+
+    public EmployeeColumn getSortColumn() { return sortColumn; }
+
+    public boolean isDescending() { return descending; }
+
+    public int getLimit() { return limit; }
+
+    public Set<EmployeeColumn> getColumns() { return columns; }
+
+    /**
+     * Department equal to this one, ignoring case
+     */
+    public EmployeeQuery withDepartment(String department) {
+        conditions.add(Condition.text(Condition.Kind.DEPARTMENT, department));
+        return this;
+    }
+
+    /**
+     * Position equal to this one, ignoring case
+     */
+    public EmployeeQuery withPosition(String position) {
+        conditions.add(Condition.text(Condition.Kind.POSITION, position));
+        return this;
+    }
+
+    public EmployeeQuery withSalaryAbove(double salary) {
+        conditions.add(Condition.salary(salary, false, Double.POSITIVE_INFINITY, true));
+        return this;
+    }
+
+    public EmployeeQuery withSalaryAtLeast(double salary) {
+        conditions.add(Condition.salary(salary, true, Double.POSITIVE_INFINITY, true));
+        return this;
+    }
+
+    public EmployeeQuery withSalaryBelow(double salary) {
+        conditions.add(Condition.salary(Double.NEGATIVE_INFINITY, true, salary, false));
+        return this;
+    }
+
+    /**
+     * Salary from min to max inclusive
+     */
+    public EmployeeQuery withSalaryBetween(double minSalary, double maxSalary) {
+        conditions.add(Condition.salary(minSalary, true, maxSalary, true));
+        return this;
+    }
+
+    /**
+     * Hired from one date to another inclusive; employees without a hire date never match
+     */
+    public EmployeeQuery withHiredBetween(LocalDate from, LocalDate to) {
+        conditions.add(Condition.hired(from, to));
+        return this;
+    }
+
+    public EmployeeQuery withHiredInYear(int year) {
+        return withHiredBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    public EmployeeQuery withHiredSince(LocalDate date) {
+        return withHiredBetween(date, LocalDate.MAX);
+    }
+
+    /**
+     * Any other condition. No index can answer it, so it is checked row by row; the
+     * description is what explain shows for it.
+     */
+    public EmployeeQuery withFilter(String description, Predicate<? super Employee> filter) {
+        conditions.add(Condition.filter(description, filter));
+        return this;
+    }
+
+    /**
+     * Sort by one column; rows with equal values keep their list order. Without a
+     * sort the results are in list order.
+     */
+    public EmployeeQuery withSortBy(EmployeeColumn column, boolean descending) {
+        this.sortColumn = column;
+        this.descending = descending;
+        return this;
+    }
+
+    /**
+     * Return at most this many employees
+     */
+    public EmployeeQuery withLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Only fill in these columns; the others are left at their defaults (null, 0 or
+     * 0.0) in the returned employees, which are copies
+     */
+    public EmployeeQuery withColumns(Set<EmployeeColumn> columns) {
+        this.columns = EnumSet.copyOf(columns);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("WHERE ");
+        text.append(conditions.isEmpty() ? "true" : conditions.get(0));
+        for (int i = 1; i < conditions.size(); i++) {
+            text.append(" AND ").append(conditions.get(i));
+        }
+        if (sortColumn != null) {
+            text.append(" ORDER BY ").append(sortColumn).append(descending ? " DESC" : " ASC");
+        }
+        if (limit != Integer.MAX_VALUE) {
+            text.append(" LIMIT ").append(limit);
+        }
+        return text.toString();
+    }
+
+    /**
+     * One condition of a query. The planner looks at the kind to find an index for it;
+     * test checks it on a single employee.
+     */
+    static final class Condition {
+
+        enum Kind { DEPARTMENT, POSITION, SALARY, HIRE_DATE, FILTER }
+
+        final Kind kind;
+        final String value;
+        final double minSalary;
+        final boolean minInclusive;
+        final double maxSalary;
+        final boolean maxInclusive;
+        final LocalDate from;
+        final LocalDate to;
+        private final Predicate<? super Employee> filter;
+        private final String description;
+
+        private Condition(Kind kind, String value, double minSalary, boolean minInclusive, double maxSalary,
+                          boolean maxInclusive, LocalDate from, LocalDate to,
+                          Predicate<? super Employee> filter, String description) {
+            this.kind = kind;
+            this.value = value;
+            this.minSalary = minSalary;
+            this.minInclusive = minInclusive;
+            this.maxSalary = maxSalary;
+            this.maxInclusive = maxInclusive;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.description = description;
+        }
+
+        static Condition text(Kind kind, String value) {
+            return new Condition(kind, value, 0, false, 0, false, null, null, null,
+                    kind.name().toLowerCase(Locale.ROOT) + " = " + value);
+        }
+
+        static Condition salary(double min, boolean minInclusive, double max, boolean maxInclusive) {
+            String description;
+            if (max == Double.POSITIVE_INFINITY) {
+                description = "salary " + (minInclusive ? ">= " : "> ") + min;
+            } else if (min == Double.NEGATIVE_INFINITY) {
+                description = "salary " + (maxInclusive ? "<= " : "< ") + max;
+            } else {
+                description = "salary between " + min + " and " + max;
+            }
+            return new Condition(Kind.SALARY, null, min, minInclusive, max, maxInclusive, null, null, null,
+                    description);
+        }
+
+        static Condition hired(LocalDate from, LocalDate to) {
+            String description = to.equals(LocalDate.MAX) ? "hired since " + from : "hired " + from + " to " + to;
+            return new Condition(Kind.HIRE_DATE, null, 0, false, 0, false, from, to, null, description);
+        }
+
+        static Condition filter(String description, Predicate<? super Employee> filter) {
+            return new Condition(Kind.FILTER, null, 0, false, 0, false, null, null, filter, description);
+        }
+
+        boolean test(Employee emp) {
+            switch (kind) {
+                case DEPARTMENT:
+                    return value != null && value.equalsIgnoreCase(emp.getDepartment());
+                case POSITION:
+                    return value != null && value.equalsIgnoreCase(emp.getPosition());
+                case SALARY:
+                    double salary = emp.getSalary();
+                    return (minInclusive ? salary >= minSalary : salary > minSalary)
+                            && (maxInclusive ? salary <= maxSalary : salary < maxSalary);
+                case HIRE_DATE:
+                    LocalDate hireDate = emp.getHireDate();
+                    return hireDate != null && !hireDate.isBefore(from) && !hireDate.isAfter(to);
+                default:
+                    return filter.test(emp);
+            }
+        }
+
+        /**
+         * True when the hire range covers whole calendar years, which the bitmap index
+         * can answer
+         */
+        boolean coversWholeYears() {
+            return kind == Kind.HIRE_DATE && from.getDayOfYear() == 1
+                    && to.getMonthValue() == 12 && to.getDayOfMonth() == 31;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.harshitha.pdfreport.model;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable employee with the salary in whole cents and the hire date as an epoch day.
+ * Safe to share between threads, exact for salary arithmetic, and free of a
+ * per-instance LocalDate. Implements EmployeeView, so reports accept it as is.
+ */
+public record EmployeeRecord(int employeeId, String firstName, String lastName, String email,
+                             String department, String position, long salaryCents, int hireEpochDay,
+                             String phoneNumber, String address) implements EmployeeView {
+
+    // hireEpochDay value for an employee without a hire date
+    public static final int NO_HIRE_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Copy any employee view into a record, rounding the salary to the nearest cent
+     */
+    public static EmployeeRecord from(EmployeeView emp) {
+        if (emp instanceof EmployeeRecord) {
+            return (EmployeeRecord) emp;
+        }
+        return new EmployeeRecord(emp.getEmployeeId(), emp.getFirstName(), emp.getLastName(), emp.getEmail(),
+                emp.getDepartment(), emp.getPosition(), toCents(emp.getSalary()), toEpochDay(emp.getHireDate()),
+                emp.getPhoneNumber(), emp.getAddress());
+    }
+
+    /**
+     * Copy back into a mutable Employee
+     */
+    public Employee toEmployee() {
+        return new Employee(employeeId, firstName, lastName, email, department, position,
+                getSalary(), getHireDate(), phoneNumber, address);
+    }
+
+    public static long toCents(double salary) {
+        return Math.round(salary * 100);
+    }
+
+    public static int toEpochDay(LocalDate date) {
+        return date == null ? NO_HIRE_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    public EmployeeRecord withSalaryCents(long salaryCents) {
+        return new EmployeeRecord(employeeId, firstName, lastName, email, department, position,
+                salaryCents, hireEpochDay, phoneNumber, address);
+    }
+
+    public EmployeeRecord withDepartment(String department) {
+        return new EmployeeRecord(employeeId, firstName, lastName, email, department, position,
+                salaryCents, hireEpochDay, phoneNumber, address);
+    }
+
+    public EmployeeRecord withPosition(String position) {
+        return new EmployeeRecord(employeeId, firstName, lastName, email, department, position,
+                salaryCents, hireEpochDay, phoneNumber, address);
+    }
+
+    @Override
+    public int getEmployeeId() { return employeeId; }
+
+    @Override
+    public String getFirstName() { return firstName; }
+
+    @Override
+    public String getLastName() { return lastName; }
+
+    @Override
+    public String getEmail() { return email; }
+
+    @Override
+    public String getDepartment() { return department; }
+
+    @Override
+    public String getPosition() { return position; }
+
+    @Override
+    public double getSalary() { return salaryCents / 100.0; }
+
+    /**
+     * Hire date, created on each call; compare hireEpochDay directly in hot loops
+     */
+    @Override
+    public LocalDate getHireDate() {
+        return hireEpochDay == NO_HIRE_DATE ? null : LocalDate.ofEpochDay(hireEpochDay);
+    }
+
+    @Override
+    public String getPhoneNumber() { return phoneNumber; }
+
+    @Override
+    public String getAddress() { return address; }
+}
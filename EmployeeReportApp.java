@@ -1,17 +1,21 @@
 package com.harshitha.pdfreport;
 
 import com.harshitha.pdfreport.data.EmployeeDataManager;
+import com.harshitha.pdfreport.data.PartitionedEmployeeStore;
 import com.harshitha.pdfreport.generator.PDFReportGenerator;
 import com.harshitha.pdfreport.model.Employee;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Main application class for Employee PDF Report Generator
  * Demonstrates various report generation capabilities
+ * Pass a directory written by EmployeeDataManager.savePartitioned as the first
+ * argument to have department reports read only that department's partition.
  */
 public class EmployeeReportApp {
 
@@ -19,6 +23,8 @@ public class EmployeeReportApp {
     private static EmployeeDataManager dataManager;
     private static PDFReportGenerator pdfGenerator;
     private static Scanner scanner;
+    // Directory partitioned by department, or null to report from the loaded data
+    private static String partitionDir;
 
     public static void main(String[] args) {
         System.out.println("=== Employee PDF Report Generator ===");
@@ -28,6 +34,10 @@ public class EmployeeReportApp {
         dataManager = new EmployeeDataManager();
         pdfGenerator = new PDFReportGenerator();
         scanner = new Scanner(System.in);
+        partitionDir = args.length > 0 ? args[0] : null;
+        if (partitionDir != null) {
+            System.out.println("Department reports read from partitions in: " + partitionDir);
+        }
 
         // Create output directory
         createOutputDirectory();
@@ -124,7 +134,9 @@ public class EmployeeReportApp {
     private static void generateDepartmentReport() {
         try {
             // Display available departments
-            List<String> departments = dataManager.getUniqueDepartments();
+            List<String> departments = partitionDir != null
+                    ? PartitionedEmployeeStore.open(Paths.get(partitionDir)).getDepartments()
+                    : dataManager.getUniqueDepartments();
             System.out.println("\nAvailable Departments:");
             for (int i = 0; i < departments.size(); i++) {
                 System.out.println((i + 1) + ". " + departments.get(i));
@@ -135,7 +147,9 @@ public class EmployeeReportApp {
 
             if (deptChoice >= 0 && deptChoice < departments.size()) {
                 String selectedDept = departments.get(deptChoice);
-                List<Employee> deptEmployees = dataManager.getEmployeesByDepartment(selectedDept);
+                List<Employee> deptEmployees = partitionDir != null
+                        ? dataManager.loadDepartmentFromPartitions(partitionDir, selectedDept)
+                        : dataManager.getEmployeesByDepartment(selectedDept);
 
                 System.out.println("Generating report for " + selectedDept + " department...");
                 pdfGenerator.generateDepartmentReport(deptEmployees, selectedDept, OUTPUT_DIR);
@@ -154,8 +168,7 @@ public class EmployeeReportApp {
     private static void generateSalaryReport() {
         try {
             System.out.println("\nGenerating salary analysis report...");
-            List<Employee> allEmployees = dataManager.getAllEmployees();
-            pdfGenerator.generateSalaryReport(allEmployees, OUTPUT_DIR);
+            pdfGenerator.generateSalaryReportFromSorted(dataManager.getEmployeesBySalaryDescending(), OUTPUT_DIR);
             System.out.println("✓ Salary analysis report generated successfully!");
         } catch (IOException e) {
             System.err.println("Error generating salary report: " + e.getMessage());
@@ -184,7 +197,7 @@ public class EmployeeReportApp {
             }
 
             // Salary report
-            pdfGenerator.generateSalaryReport(allEmployees, OUTPUT_DIR);
+            pdfGenerator.generateSalaryReportFromSorted(dataManager.getEmployeesBySalaryDescending(), OUTPUT_DIR);
             System.out.println("✓ Salary analysis report generated");
 
             System.out.println("\n🎉 All reports generated successfully!");
@@ -208,7 +221,7 @@ public class EmployeeReportApp {
 
         System.out.println("\nDepartment Breakdown:");
         for (String dept : dataManager.getUniqueDepartments()) {
-            int count = dataManager.getEmployeesByDepartment(dept).size();
+            int count = dataManager.getEmployeeCountInDepartment(dept);
             System.out.println("  " + dept + ": " + count + " employees");
         }
 
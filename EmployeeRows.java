@@ -0,0 +1,165 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Persistent row storage: employees in fixed-size chunks, addressed by slot. A changed
+ * version copies only the array of chunk references and the chunks it writes to, so
+ * one change costs time proportional to the chunk size and the number of chunks, not
+ * to the number of rows. A removed row leaves an empty slot behind, so the slots of
+ * the other rows, which the indexes refer to, never move. Immutable once built.
+ */
+final class EmployeeRows {
+
+    private static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final Employee[][] chunks;
+    private final int slotCount;
+    private final int size;
+
+    private EmployeeRows(Employee[][] chunks, int slotCount, int size) {
+        this.chunks = chunks;
+        this.slotCount = slotCount;
+        this.size = size;
+    }
+
+    /**
+     * Rows holding the employees in list order, one slot each
+     */
+    static EmployeeRows of(List<Employee> employees) {
+        int n = employees.size();
+        Employee[][] chunks = new Employee[(n + CHUNK_SIZE - 1) >>> CHUNK_SHIFT][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new Employee[CHUNK_SIZE];
+            int from = c << CHUNK_SHIFT;
+            for (int i = from; i < Math.min(n, from + CHUNK_SIZE); i++) {
+                chunks[c][i - from] = employees.get(i);
+            }
+        }
+        return new EmployeeRows(chunks, n, n);
+    }
+
+    /**
+     * Number of employees
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of slots, including those of removed rows
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * The employee in the slot, or null when its row was removed
+     */
+    Employee get(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT][slot & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Every slot in order, null where a row was removed
+     */
+    List<Employee> slots() {
+        return new SlotList();
+    }
+
+    /**
+     * The employees in slot order without the removed rows; a view when there are none
+     */
+    List<Employee> employees() {
+        if (size == slotCount) {
+            return slots();
+        }
+        List<Employee> employees = new ArrayList<>(size);
+        for (int slot = 0; slot < slotCount; slot++) {
+            Employee emp = get(slot);
+            if (emp != null) {
+                employees.add(emp);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Start a new version based on this one; this one is left unchanged
+     */
+    Editor edit() {
+        return new Editor();
+    }
+
+    final class Editor {
+        private Employee[][] chunks = EmployeeRows.this.chunks.clone();
+        // Chunks copied by this editor, which it may write in place
+        private boolean[] owned = new boolean[chunks.length];
+        private int slotCount = EmployeeRows.this.slotCount;
+        private int size = EmployeeRows.this.size;
+
+        Employee get(int slot) {
+            return chunks[slot >>> CHUNK_SHIFT][slot & (CHUNK_SIZE - 1)];
+        }
+
+        void set(int slot, Employee emp) {
+            writableChunk(slot >>> CHUNK_SHIFT)[slot & (CHUNK_SIZE - 1)] = emp;
+        }
+
+        void remove(int slot) {
+            set(slot, null);
+            size--;
+        }
+
+        /**
+         * Add the employee in a new slot after the others; returns the slot
+         */
+        int append(Employee emp) {
+            int slot = slotCount++;
+            int chunk = slot >>> CHUNK_SHIFT;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+                owned = Arrays.copyOf(owned, chunk + 1);
+                chunks[chunk] = new Employee[CHUNK_SIZE];
+                owned[chunk] = true;
+            }
+            set(slot, emp);
+            size++;
+            return slot;
+        }
+
+        EmployeeRows build() {
+            return new EmployeeRows(chunks, slotCount, size);
+        }
+
+        private Employee[] writableChunk(int chunk) {
+            if (!owned[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                owned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+    }
+
+    private final class SlotList extends AbstractList<Employee> implements RandomAccess {
+        @Override
+        public Employee get(int slot) {
+            if (slot < 0 || slot >= slotCount) {
+                throw new IndexOutOfBoundsException("Slot " + slot + " of " + slotCount);
+            }
+            return EmployeeRows.this.get(slot);
+        }
+
+        @Override
+        public int size() {
+            return slotCount;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of a parsed employee dataset, used to skip CSV parsing on restart.
+ * The snapshot records the size, modification time and a CRC32C of the contents of
+ * the CSV it was built from, so an edit that keeps the size and modification time
+ * still makes it stale, and the projected columns. It ends with a CRC32 of everything
+ * before it. A snapshot that is missing, stale, written for other columns or corrupt
+ * is ignored, and the caller falls back to the CSV.
+ */
+final class EmployeeSnapshot {
+
+    private static final long MAGIC = 0x454D50534E415031L; // "EMPSNAP1"
+    private static final int VERSION = 2;
+    private static final int TRAILER_SIZE = Long.BYTES;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final long HASH_WINDOW = 1L << 28;
+
+    private EmployeeSnapshot() {}
+
+    /**
+     * Size, modification time and content checksum of a source file at one moment.
+     * Take it before parsing, so a file that changes during the load leaves a
+     * snapshot that no longer matches rather than one that hides the change.
+     */
+    static final class Source {
+        final long size;
+        final long modifiedMillis;
+        final long contentHash;
+
+        private Source(long size, long modifiedMillis, long contentHash) {
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.contentHash = contentHash;
+        }
+
+        static Source of(Path file) throws IOException {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                CRC32C crc = new CRC32C();
+                for (long position = 0; position < size; position += HASH_WINDOW) {
+                    crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(HASH_WINDOW, size - position)));
+                }
+                return new Source(size, modified, crc.getValue());
+            }
+        }
+    }
+
+    /**
+     * Write the employees loaded from the source to the snapshot file.
+     * The file is written under a temporary name and moved into place, so a crash
+     * never leaves a half-written snapshot behind; a failed write removes it.
+     */
+    static void write(Path snapshot, Source source, Set<EmployeeColumn> columns, List<Employee> employees)
+            throws IOException {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            writeTo(temp, source, columns, employees);
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static void writeTo(Path temp, Source source, Set<EmployeeColumn> columns, List<Employee> employees)
+            throws IOException {
+        CRC32 crc = new CRC32();
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, crc));
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(source.size);
+            out.writeLong(source.modifiedMillis);
+            out.writeLong(source.contentHash);
+            out.writeInt(columnMask(columns));
+            out.writeInt(employees.size());
+
+            for (Employee emp : employees) {
+                out.writeInt(emp.getEmployeeId());
+                writeString(out, emp.getFirstName());
+                writeString(out, emp.getLastName());
+                writeString(out, emp.getEmail());
+                writeString(out, emp.getDepartment());
+                writeString(out, emp.getPosition());
+                out.writeDouble(emp.getSalary());
+                out.writeLong(emp.getHireDate() == null ? NO_DATE : emp.getHireDate().toEpochDay());
+                writeString(out, emp.getPhoneNumber());
+                writeString(out, emp.getAddress());
+            }
+            out.flush();
+            // The checksum itself is written past the checked stream
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+    }
+
+    /**
+     * Read the snapshot if it is intact and matches the source as it is now and the
+     * columns; returns null when the CSV has to be parsed instead
+     */
+    static List<Employee> read(Path snapshot, Source source, Set<EmployeeColumn> columns) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyEnd = (int) size - TRAILER_SIZE;
+
+            CRC32 crc = new CRC32();
+            crc.update(buf.duplicate().limit(bodyEnd));
+            if (crc.getValue() != buf.getLong(bodyEnd)) {
+                return null; // Corrupt or truncated
+            }
+
+            buf.limit(bodyEnd);
+            if (buf.getLong() != MAGIC || buf.getInt() != VERSION
+                    || buf.getLong() != source.size
+                    || buf.getLong() != source.modifiedMillis
+                    || buf.getLong() != source.contentHash
+                    || buf.getInt() != columnMask(columns)) {
+                return null; // Written by another version, for another file state or other columns
+            }
+            return readEmployees(buf);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null; // Checksum matched but the layout does not: treat as corrupt
+        }
+    }
+
+    private static List<Employee> readEmployees(ByteBuffer buf) {
+        int count = buf.getInt();
+        List<Employee> employees = new ArrayList<>(count);
+        StringReader strings = new StringReader();
+
+        for (int i = 0; i < count; i++) {
+            int id = buf.getInt();
+            String firstName = strings.read(buf, false);
+            String lastName = strings.read(buf, false);
+            String email = strings.read(buf, false);
+            String department = strings.read(buf, true);
+            String position = strings.read(buf, true);
+            double salary = buf.getDouble();
+            long epochDay = buf.getLong();
+            String phone = strings.read(buf, false);
+            String address = strings.read(buf, false);
+
+            employees.add(new Employee(id, firstName, lastName, email, department, position, salary,
+                    epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay), phone, address));
+        }
+        return employees;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int columnMask(Set<EmployeeColumn> columns) {
+        int mask = 0;
+        for (EmployeeColumn column : columns) {
+            mask |= 1 << column.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes length-prefixed UTF-8 strings; low-cardinality columns are shared
+     * between rows instead of allocating a String per row
+     */
+    private static final class StringReader {
+        private byte[] scratch = new byte[256];
+        private final Map<String, String> shared = new HashMap<>();
+
+        String read(ByteBuffer buf, boolean share) {
+            int length = buf.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buf.get(scratch, 0, length);
+            String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            return share ? shared.computeIfAbsent(value, v -> v) : value;
+        }
+    }
+}
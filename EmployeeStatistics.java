@@ -0,0 +1,79 @@
+package com.harshitha.pdfreport.generator;
+
+import com.harshitha.pdfreport.model.EmployeeRecord;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Summary statistics gathered in a single pass over employees, so a report can be
+ * drawn from a stream of rows without keeping them in memory
+ */
+class EmployeeStatistics implements Consumer<EmployeeView> {
+
+    private long count;
+    private double salarySum;
+    private double minSalary = Double.POSITIVE_INFINITY;
+    private double maxSalary = Double.NEGATIVE_INFINITY;
+    private long latestHireDay = Long.MIN_VALUE; // Epoch day; compared without LocalDate
+    private String highestPaidName;
+    private final Set<String> departments = new HashSet<>();
+    private final Set<String> positions = new HashSet<>();
+
+    static EmployeeStatistics of(Stream<? extends EmployeeView> employees) {
+        EmployeeStatistics statistics = new EmployeeStatistics();
+        employees.forEach(statistics);
+        return statistics;
+    }
+
+    @Override
+    public void accept(EmployeeView emp) {
+        count++;
+        salarySum += emp.getSalary();
+        minSalary = Math.min(minSalary, emp.getSalary());
+        if (emp.getSalary() > maxSalary) {
+            maxSalary = emp.getSalary();
+            highestPaidName = emp.getFullName();
+        }
+        latestHireDay = Math.max(latestHireDay, hireDay(emp));
+        if (emp.getDepartment() != null) {
+            departments.add(emp.getDepartment());
+        }
+        if (emp.getPosition() != null) {
+            positions.add(emp.getPosition());
+        }
+    }
+
+    public int getCount() { return (int) count; }
+
+    public double getAverageSalary() { return count == 0 ? 0.0 : salarySum / count; }
+
+    public double getMinSalary() { return count == 0 ? 0.0 : minSalary; }
+
+    public double getMaxSalary() { return count == 0 ? 0.0 : maxSalary; }
+
+    public LocalDate getLatestHire() { return latestHireDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(latestHireDay); }
+
+    public String getHighestPaidName() { return highestPaidName == null ? "N/A" : highestPaidName; }
+
+    public int getDepartmentCount() { return departments.size(); }
+
+    public int getPositionCount() { return positions.size(); }
+
+    /**
+     * Hire date as an epoch day, or Long.MIN_VALUE without one. Records already hold
+     * the epoch day, so no date is created for them.
+     */
+    private static long hireDay(EmployeeView emp) {
+        if (emp instanceof EmployeeRecord) {
+            int day = ((EmployeeRecord) emp).hireEpochDay();
+            return day == EmployeeRecord.NO_HIRE_DATE ? Long.MIN_VALUE : day;
+        }
+        LocalDate hireDate = emp.getHireDate();
+        return hireDate == null ? Long.MIN_VALUE : hireDate.toEpochDay();
+    }
+}
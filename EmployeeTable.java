@@ -0,0 +1,375 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeRecord;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented employee storage.
+ * Each field lives in its own array (ids, salaries, hire dates as epoch days) or
+ * string arena, so a salary aggregate reads one contiguous double[] instead of
+ * chasing a pointer per Employee. Department and position are dictionary-encoded,
+ * so each row holds an int code and filtering or grouping by department compares
+ * codes. Rows are exposed as EmployeeView objects that read through to the columns.
+ */
+public class EmployeeTable implements Iterable<EmployeeView> {
+
+    // Marks a missing hire date in the epoch-day column
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private int size;
+    private int[] ids;
+    private double[] salaries;
+    private int[] hireDays;
+    private final StringColumn firstNames;
+    private final StringColumn lastNames;
+    private final StringColumn emails;
+    private final DictionaryColumn departments;
+    private final DictionaryColumn positions;
+    private final StringColumn phones;
+    private final StringColumn addresses;
+
+    public EmployeeTable() {
+        this(1024);
+    }
+
+    public EmployeeTable(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.ids = new int[capacity];
+        this.salaries = new double[capacity];
+        this.hireDays = new int[capacity];
+        this.firstNames = new StringColumn(capacity);
+        this.lastNames = new StringColumn(capacity);
+        this.emails = new StringColumn(capacity);
+        this.departments = new DictionaryColumn(capacity);
+        this.positions = new DictionaryColumn(capacity);
+        this.phones = new StringColumn(capacity);
+        this.addresses = new StringColumn(capacity);
+    }
+
+    /**
+     * Build a table holding a copy of the given employees, in order
+     */
+    public static EmployeeTable of(Collection<? extends EmployeeView> employees) {
+        EmployeeTable table = new EmployeeTable(employees.size());
+        for (EmployeeView emp : employees) {
+            table.add(emp);
+        }
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Append a copy of the employee's fields as a new row
+     */
+    public void add(EmployeeView emp) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, ids.length * 2); // A trimmed table may have no capacity left
+            ids = Arrays.copyOf(ids, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            hireDays = Arrays.copyOf(hireDays, capacity);
+        }
+        ids[size] = emp.getEmployeeId();
+        salaries[size] = emp.getSalary();
+        hireDays[size] = emp.getHireDate() == null ? NO_DATE : (int) emp.getHireDate().toEpochDay();
+        firstNames.add(emp.getFirstName());
+        lastNames.add(emp.getLastName());
+        emails.add(emp.getEmail());
+        departments.add(emp.getDepartment());
+        positions.add(emp.getPosition());
+        phones.add(emp.getPhoneNumber());
+        addresses.add(emp.getAddress());
+        size++;
+    }
+
+    /**
+     * Release spare capacity once the table is fully loaded
+     */
+    public void trimToSize() {
+        ids = Arrays.copyOf(ids, size);
+        salaries = Arrays.copyOf(salaries, size);
+        hireDays = Arrays.copyOf(hireDays, size);
+        for (StringColumn column : stringColumns()) {
+            column.trimToSize();
+        }
+        departments.trimToSize();
+        positions.trimToSize();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEmployeeId(int row) { return ids[checkRow(row)]; }
+
+    public String getFirstName(int row) { return firstNames.get(checkRow(row)); }
+
+    public String getLastName(int row) { return lastNames.get(checkRow(row)); }
+
+    public String getEmail(int row) { return emails.get(checkRow(row)); }
+
+    public String getDepartment(int row) { return departments.get(checkRow(row)); }
+
+    public String getPosition(int row) { return positions.get(checkRow(row)); }
+
+    public double getSalary(int row) { return salaries[checkRow(row)]; }
+
+    public LocalDate getHireDate(int row) {
+        int day = hireDays[checkRow(row)];
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public String getPhoneNumber(int row) { return phones.get(checkRow(row)); }
+
+    public String getAddress(int row) { return addresses.get(checkRow(row)); }
+
+    /**
+     * Copy a row out into a standalone Employee
+     */
+    public Employee toEmployee(int row) {
+        return new Employee(getEmployeeId(row), getFirstName(row), getLastName(row), getEmail(row),
+                getDepartment(row), getPosition(row), getSalary(row), getHireDate(row),
+                getPhoneNumber(row), getAddress(row));
+    }
+
+    /**
+     * Copy a row out into an immutable record; the hire date is taken over as an
+     * epoch day without creating a LocalDate
+     */
+    public EmployeeRecord toRecord(int row) {
+        int day = hireDays[checkRow(row)];
+        return new EmployeeRecord(ids[row], getFirstName(row), getLastName(row), getEmail(row),
+                getDepartment(row), getPosition(row), EmployeeRecord.toCents(salaries[row]),
+                day == NO_DATE ? EmployeeRecord.NO_HIRE_DATE : day, getPhoneNumber(row), getAddress(row));
+    }
+
+    /**
+     * View of one row. The view reads through to the table, so it is only a few
+     * bytes, and it stays valid for as long as the table does.
+     */
+    public Row row(int row) {
+        return new Row(checkRow(row));
+    }
+
+    /**
+     * A single reusable view positioned on row 0; move it with Row.moveTo to walk
+     * the table without allocating
+     */
+    public Row cursor() {
+        return new Row(0);
+    }
+
+    /**
+     * Visit every row through one reused view. The view passed to the action is only
+     * valid during that call and must not be kept.
+     */
+    public void forEachRow(Consumer<? super EmployeeView> action) {
+        Row cursor = new Row(0);
+        for (int i = 0; i < size; i++) {
+            action.accept(cursor.moveTo(i));
+        }
+    }
+
+    /**
+     * Stream the rows as separate views, safe to collect or sort
+     */
+    public Stream<EmployeeView> stream() {
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    @Override
+    public Iterator<EmployeeView> iterator() {
+        return new Iterator<EmployeeView>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public EmployeeView next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return new Row(next++);
+            }
+        };
+    }
+
+    public double getTotalSalary() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += salaries[i];
+        }
+        return sum;
+    }
+
+    public double getAverageSalary() {
+        return size == 0 ? 0.0 : getTotalSalary() / size;
+    }
+
+    public double getMinSalary() {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, salaries[i]);
+        }
+        return size == 0 ? 0.0 : min;
+    }
+
+    public double getMaxSalary() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, salaries[i]);
+        }
+        return size == 0 ? 0.0 : max;
+    }
+
+    /**
+     * Rows with a salary above the threshold, in table order
+     */
+    public int[] rowsWithSalaryAbove(double salaryThreshold) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (salaries[i] > salaryThreshold) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows whose hire date falls in the given year, compared as an epoch-day range
+     */
+    public int[] rowsHiredInYear(int year) {
+        int first = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        int last = (int) LocalDate.of(year, 12, 31).toEpochDay();
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int day = hireDays[i];
+            if (day >= first && day <= last) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows in the department, matched ignoring case, in table order
+     */
+    public int[] rowsInDepartment(String department) {
+        return departments.rowsEqualIgnoreCase(department);
+    }
+
+    /**
+     * Number of employees per department, sorted by department name
+     */
+    public Map<String, Integer> getDepartmentCounts() {
+        return departments.countByValue();
+    }
+
+    /**
+     * Number of employees per position, sorted by position name
+     */
+    public Map<String, Integer> getPositionCounts() {
+        return positions.countByValue();
+    }
+
+    /**
+     * Distinct departments, sorted
+     */
+    public List<String> getDepartments() {
+        return List.copyOf(getDepartmentCounts().keySet());
+    }
+
+    /**
+     * Approximate heap bytes held by the table's columns
+     */
+    public long getMemoryUsage() {
+        long bytes = 4L * ids.length + 8L * salaries.length + 4L * hireDays.length;
+        for (StringColumn column : stringColumns()) {
+            bytes += column.memoryUsage();
+        }
+        return bytes + departments.memoryUsage() + positions.memoryUsage();
+    }
+
+    private StringColumn[] stringColumns() {
+        return new StringColumn[] {firstNames, lastNames, emails, phones, addresses};
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for table of " + size);
+        }
+        return row;
+    }
+
+    /**
+     * An employee row that reads its fields from the table's columns
+     */
+    public final class Row implements EmployeeView {
+        private int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        /**
+         * Reposition this view on another row and return it
+         */
+        public Row moveTo(int row) {
+            this.row = checkRow(row);
+            return this;
+        }
+
+        public int getRow() { return row; }
+
+        @Override
+        public int getEmployeeId() { return ids[row]; }
+
+        @Override
+        public String getFirstName() { return firstNames.get(row); }
+
+        @Override
+        public String getLastName() { return lastNames.get(row); }
+
+        @Override
+        public String getEmail() { return emails.get(row); }
+
+        @Override
+        public String getDepartment() { return departments.get(row); }
+
+        @Override
+        public String getPosition() { return positions.get(row); }
+
+        @Override
+        public double getSalary() { return salaries[row]; }
+
+        @Override
+        public LocalDate getHireDate() { return EmployeeTable.this.getHireDate(row); }
+
+        @Override
+        public String getPhoneNumber() { return phones.get(row); }
+
+        @Override
+        public String getAddress() { return addresses.get(row); }
+
+        @Override
+        public String toString() {
+            return "Row{" + row + ", employeeId=" + getEmployeeId() + ", name='" + getFullName() + "'}";
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.harshitha.pdfreport.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of one employee's data, implemented by Employee and by the rows
+ * of other storage layouts so reports can be drawn from any of them
+ */
+public interface EmployeeView {
+
+    int getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getDepartment();
+
+    String getPosition();
+
+    double getSalary();
+
+    LocalDate getHireDate();
+
+    String getPhoneNumber();
+
+    String getAddress();
+
+    // Utility method to get full name
+    default String getFullName() {
+        return getFirstName() + " " + getLastName();
+    }
+}
@@ -0,0 +1,115 @@
+package com.harshitha.pdfreport.data;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Allocation-free parsers for the numeric and date columns of the employee CSV.
+ * Each method reads straight from the buffer and handles only the plain layouts
+ * that make up nearly every row; anything else is rejected with a sentinel so the
+ * caller can fall back to the general JDK parser and keep its exact semantics.
+ */
+final class FieldParsers {
+
+    /** Returned by parseDecimal when the input is not a plain decimal */
+    static final double NOT_PARSED = Double.NaN;
+
+    // Every integer below 2^53 is exact as a double; 15 digits always fit
+    private static final int MAX_DECIMAL_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private FieldParsers() {}
+
+    /**
+     * Parse [start, end) as an optionally signed decimal such as 75000 or 68000.50.
+     * Both the digits and the power of ten are exact doubles, so the single division
+     * is correctly rounded and the result equals Double.parseDouble on the same text.
+     * Returns NOT_PARSED for exponents, too many digits or any other character.
+     */
+    static double parseDecimal(ByteBuffer buf, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            byte b = buf.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return NOT_PARSED;
+            }
+        }
+        if (digits == 0 || digits > MAX_DECIMAL_DIGITS) {
+            return NOT_PARSED;
+        }
+
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse [start, end) in the fixed yyyy-MM-dd layout and return the packed value
+     * year * 10000 + month * 100 + day, or -1 when the text does not have exactly that
+     * layout or names a day that does not exist (the formatter resolves those itself)
+     */
+    static int parseIsoDate(ByteBuffer buf, int start, int end) {
+        if (end - start != 10 || buf.get(start + 4) != '-' || buf.get(start + 7) != '-') {
+            return -1;
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        if (year <= 0 || month < 1 || month > 12 || day < 1) {
+            return -1;
+        }
+
+        int monthLength = DAYS_IN_MONTH[month - 1];
+        if (month == 2 && isLeapYear(year)) {
+            monthLength = 29;
+        }
+        if (day > monthLength) {
+            return -1;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * Turn a value packed by parseIsoDate back into a LocalDate
+     */
+    static LocalDate toLocalDate(int packedDate) {
+        return LocalDate.of(packedDate / 10000, packedDate / 100 % 100, packedDate % 100);
+    }
+
+    private static int digits(ByteBuffer buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.harshitha.pdfreport.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Compares the byte-level salary and hire date parsers with the JDK path the CSV
+ * parser used before them: decode the field to a String, then Double.parseDouble
+ * or LocalDate.parse. Run with an optional row count (default 1,000,000); prints
+ * nanoseconds per field for each parser.
+ */
+public final class FieldParsersBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private FieldParsersBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+
+        // Salaries as the sample data writes them: whole numbers, some with cents
+        String[] salaries = new String[rows];
+        String[] dates = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int whole = 30_000 + random.nextInt(170_000);
+            salaries[i] = random.nextInt(4) == 0 ? whole + "." + (10 + random.nextInt(90)) : whole + ".0";
+            dates[i] = LocalDate.of(1990, 1, 1).plusDays(random.nextInt(13_000)).toString();
+        }
+        Fields salaryFields = new Fields(salaries);
+        Fields dateFields = new Fields(dates);
+
+        report("salary", "Double.parseDouble", BenchmarkTimer.nanosPerOp(5, 10, rows, () -> {
+            double sum = 0;
+            for (int i = 0; i < rows; i++) {
+                sum += Double.parseDouble(salaryFields.string(i));
+            }
+            return (long) sum;
+        }));
+        report("salary", "FieldParsers.parseDecimal", BenchmarkTimer.nanosPerOp(5, 10, rows, () -> {
+            double sum = 0;
+            for (int i = 0; i < rows; i++) {
+                sum += FieldParsers.parseDecimal(salaryFields.buffer, salaryFields.start(i), salaryFields.end(i));
+            }
+            return (long) sum;
+        }));
+        report("hire date", "LocalDate.parse", BenchmarkTimer.nanosPerOp(5, 10, rows, () -> {
+            long days = 0;
+            for (int i = 0; i < rows; i++) {
+                days += LocalDate.parse(dateFields.string(i), DATE_FORMAT).toEpochDay();
+            }
+            return days;
+        }));
+        report("hire date", "FieldParsers.parseIsoDate", BenchmarkTimer.nanosPerOp(5, 10, rows, () -> {
+            long days = 0;
+            for (int i = 0; i < rows; i++) {
+                int packed = FieldParsers.parseIsoDate(dateFields.buffer, dateFields.start(i), dateFields.end(i));
+                days += FieldParsers.toLocalDate(packed).toEpochDay();
+            }
+            return days;
+        }));
+    }
+
+    private static void report(String field, String parser, double nanos) {
+        System.out.printf("%-10s %-28s %8.1f ns/field%n", field, parser, nanos);
+    }
+
+    /**
+     * Field values laid out back to back in one buffer, as the CSV parser sees them
+     */
+    private static final class Fields {
+        final ByteBuffer buffer;
+        final int[] offsets;
+        final byte[] scratch = new byte[64];
+
+        Fields(String[] values) {
+            offsets = new int[values.length + 1];
+            int length = 0;
+            for (int i = 0; i < values.length; i++) {
+                length += values[i].length();
+                offsets[i + 1] = length;
+            }
+            buffer = ByteBuffer.allocate(length);
+            for (String value : values) {
+                buffer.put(value.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        int start(int i) {
+            return offsets[i];
+        }
+
+        int end(int i) {
+            return offsets[i + 1];
+        }
+
+        /**
+         * Decode the field to a String, as the parser did before the byte-level parsers
+         */
+        String string(int i) {
+            int length = end(i) - start(i);
+            buffer.get(start(i), scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
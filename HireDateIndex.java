@@ -0,0 +1,98 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows sorted by hire date as parallel epoch-day and row arrays, earliest first.
+ * Date ranges are binary searches, and the earliest and latest hire are the ends
+ * of the arrays. Rows without a hire date are left out. Immutable once built.
+ */
+final class HireDateIndex {
+
+    private final int[] days; // Ascending epoch days
+    private final int[] rows; // Row of each day
+
+    private HireDateIndex(int[] days, int[] rows) {
+        this.days = days;
+        this.rows = rows;
+    }
+
+    /**
+     * Index the hire dates of the employees by their position in the list; null
+     * entries are rows that were removed
+     */
+    static HireDateIndex build(List<? extends EmployeeView> employees) {
+        // Day in the high half and row in the low half: one primitive sort orders by
+        // date and keeps rows with the same date in list order
+        long[] keys = new long[employees.size()];
+        int count = 0;
+        for (int row = 0; row < employees.size(); row++) {
+            EmployeeView emp = employees.get(row);
+            LocalDate hireDate = emp == null ? null : emp.getHireDate();
+            if (hireDate != null) {
+                keys[count++] = (long) Math.toIntExact(hireDate.toEpochDay()) << 32 | row;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        int[] days = new int[count];
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = (int) (keys[i] >> 32);
+            rows[i] = (int) keys[i];
+        }
+        return new HireDateIndex(days, rows);
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Rows hired from one date to another inclusive, earliest first
+     */
+    int[] rowsBetween(LocalDate from, LocalDate to) {
+        int start = firstOnOrAfter(from.toEpochDay());
+        int end = firstOnOrAfter(to.toEpochDay() + 1);
+        return start < end ? Arrays.copyOfRange(rows, start, end) : new int[0];
+    }
+
+    /**
+     * Number of rows hired from one date to another inclusive
+     */
+    int countBetween(LocalDate from, LocalDate to) {
+        return Math.max(0, firstOnOrAfter(to.toEpochDay() + 1) - firstOnOrAfter(from.toEpochDay()));
+    }
+
+    /**
+     * Latest hire date, or null when no row has one
+     */
+    LocalDate latest() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[days.length - 1]);
+    }
+
+    /**
+     * Earliest hire date, or null when no row has one
+     */
+    LocalDate earliest() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[0]);
+    }
+
+    private int firstOnOrAfter(long day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
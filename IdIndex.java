@@ -0,0 +1,181 @@
+package com.harshitha.pdfreport.data;
+
+/**
+ * Persistent map from employee id to row slot: a hash array mapped trie on a
+ * scrambled id, five bits per level. A changed version copies only the path to the
+ * changed entry, so adding or removing an id costs time proportional to the depth
+ * of the trie rather than to the number of ids. The scrambling multiplies by an odd
+ * constant, which is a one-to-one function on ints, so distinct ids never collide.
+ * Immutable once built.
+ */
+final class IdIndex {
+
+    static final int ABSENT = -1;
+
+    private static final int BITS = 5;
+    private static final IdIndex EMPTY = new IdIndex(new Node(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private IdIndex(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Index the slots of all employees in the rows
+     */
+    static IdIndex build(EmployeeRows rows) {
+        Node root = new Node(0, new Object[0]);
+        int size = 0;
+        for (int slot = 0; slot < rows.slotCount(); slot++) {
+            if (rows.get(slot) != null) {
+                int id = rows.get(slot).getEmployeeId();
+                // Every node is new and unshared while building, so it is updated in place
+                root = put(root, hash(id), id, slot, 0, true);
+                size++;
+            }
+        }
+        return size == 0 ? EMPTY : new IdIndex(root, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Slot of the employee with this id, or ABSENT
+     */
+    int get(int id) {
+        int hash = hash(id);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return ABSENT;
+            }
+            Object entry = node.entries[node.index(bit)];
+            if (entry instanceof Leaf) {
+                Leaf leaf = (Leaf) entry;
+                return leaf.id == id ? leaf.slot : ABSENT;
+            }
+            node = (Node) entry;
+        }
+    }
+
+    /**
+     * This index with the id mapped to the slot, added or replaced
+     */
+    IdIndex with(int id, int slot) {
+        boolean present = get(id) != ABSENT;
+        return new IdIndex(put(root, hash(id), id, slot, 0, false), present ? size : size + 1);
+    }
+
+    /**
+     * This index without the id
+     */
+    IdIndex without(int id) {
+        if (get(id) == ABSENT) {
+            return this;
+        }
+        Node next = remove(root, hash(id), 0);
+        return new IdIndex(next == null ? EMPTY.root : next, size - 1);
+    }
+
+    private static Node put(Node node, int hash, int id, int slot, int shift, boolean inPlace) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            Object[] entries = new Object[node.entries.length + 1];
+            System.arraycopy(node.entries, 0, entries, 0, index);
+            entries[index] = new Leaf(id, slot);
+            System.arraycopy(node.entries, index, entries, index + 1, node.entries.length - index);
+            if (inPlace) {
+                node.bitmap |= bit;
+                node.entries = entries;
+                return node;
+            }
+            return new Node(node.bitmap | bit, entries);
+        }
+
+        Object entry = node.entries[index];
+        Object replacement;
+        if (entry instanceof Node) {
+            replacement = put((Node) entry, hash, id, slot, shift + BITS, inPlace);
+        } else if (((Leaf) entry).id == id) {
+            replacement = new Leaf(id, slot);
+        } else {
+            // Two ids share this position: push both one level down
+            Leaf existing = (Leaf) entry;
+            Node child = new Node(0, new Object[0]);
+            child = put(child, hash(existing.id), existing.id, existing.slot, shift + BITS, true);
+            replacement = put(child, hash, id, slot, shift + BITS, true);
+        }
+        if (inPlace) {
+            node.entries[index] = replacement;
+            return node;
+        }
+        Object[] entries = node.entries.clone();
+        entries[index] = replacement;
+        return new Node(node.bitmap, entries);
+    }
+
+    /**
+     * The node without the id, which is known to be present; null once it is empty
+     */
+    private static Node remove(Node node, int hash, int shift) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+        Object entry = node.entries[index];
+        if (entry instanceof Node) {
+            Node child = remove((Node) entry, hash, shift + BITS);
+            if (child != null) {
+                Object[] entries = node.entries.clone();
+                // A child left with a single id is folded back into its parent
+                entries[index] = child.entries.length == 1 && child.entries[0] instanceof Leaf
+                        ? child.entries[0] : child;
+                return new Node(node.bitmap, entries);
+            }
+        }
+        if (node.entries.length == 1) {
+            return null;
+        }
+        Object[] entries = new Object[node.entries.length - 1];
+        System.arraycopy(node.entries, 0, entries, 0, index);
+        System.arraycopy(node.entries, index + 1, entries, index, entries.length - index);
+        return new Node(node.bitmap & ~bit, entries);
+    }
+
+    private static int hash(int id) {
+        return id * 0x9E3779B9;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & ((1 << BITS) - 1));
+    }
+
+    private static final class Node {
+        int bitmap;
+        Object[] entries; // Leaf or Node for each set bit, in bit order
+
+        Node(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private static final class Leaf {
+        final int id;
+        final int slot;
+
+        Leaf(int id, int slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.harshitha.pdfreport.data;
+
+import java.io.IOException;
+
+/**
+ * Outcome of a CSV load: how many rows were kept or rejected and how fast it ran
+ */
+public class LoadReport {
+
+    private final long rowsLoaded;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+    private final IOException snapshotFailure;
+
+    public LoadReport(long rowsLoaded, long rowsRejected, long elapsedNanos) {
+        this(rowsLoaded, rowsRejected, elapsedNanos, null);
+    }
+
+    public LoadReport(long rowsLoaded, long rowsRejected, long elapsedNanos, IOException snapshotFailure) {
+        this.rowsLoaded = rowsLoaded;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+        this.snapshotFailure = snapshotFailure;
+    }
+
+    public long getRowsLoaded() { return rowsLoaded; }
+
+    public long getRowsRejected() { return rowsRejected; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * Why the snapshot requested in the load options could not be written, or null.
+     * The snapshot is only a cache, so the load itself still succeeded.
+     */
+    public IOException getSnapshotFailure() { return snapshotFailure; }
+
+    /**
+     * Rows read per second, counting both loaded and rejected rows
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : (rowsLoaded + rowsRejected) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String report = String.format("Loaded %,d rows, rejected %,d, in %.2f s (%,.0f rows/sec)",
+                rowsLoaded, rowsRejected, elapsedNanos / 1e9, getRowsPerSecond());
+        return snapshotFailure == null ? report : report + "; snapshot not written: " + snapshotFailure.getMessage();
+    }
+}
@@ -0,0 +1,470 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Reads employee CSV files through a memory-mapped view of the file.
+ * Records are parsed straight from the mapped bytes, so no line Strings or
+ * split arrays are allocated on the way to an Employee.
+ */
+public class MappedCsvReader {
+
+    // A single mapping cannot exceed Integer.MAX_VALUE bytes, so larger files are read in windows
+    private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    // Ranges smaller than this are not worth handing to a separate worker
+    private static final long MIN_RANGE_SIZE = 1 << 20;
+
+    // Rows a worker hands over at a time, and how many batches it may parse ahead
+    private static final int BATCH_SIZE = 1024;
+    private static final int BATCHES_AHEAD = 4;
+
+    private final Set<EmployeeColumn> columns;
+    private final RejectLog rejects;
+    private final long windowSize;
+
+    public MappedCsvReader() {
+        this(EmployeeColumn.all());
+    }
+
+    /**
+     * Create a reader that only materializes the given columns
+     */
+    public MappedCsvReader(Set<EmployeeColumn> columns) {
+        this(columns, null, MAX_WINDOW);
+    }
+
+    /**
+     * Create a reader that reports malformed rows to the reject log instead of failing,
+     * or fails on the first one when the log is null
+     */
+    MappedCsvReader(Set<EmployeeColumn> columns, RejectLog rejects) {
+        this(columns, rejects, MAX_WINDOW);
+    }
+
+    MappedCsvReader(Set<EmployeeColumn> columns, RejectLog rejects, long windowSize) {
+        this.columns = columns;
+        this.rejects = rejects;
+        this.windowSize = Math.min(windowSize, MAX_WINDOW);
+    }
+
+    /**
+     * Read every employee in the file and pass it to the sink.
+     * Columns are located through the header row.
+     */
+    public void read(Path file, Consumer<Employee> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextRecordStart(channel, 0, size);
+            EmployeeCsvParser header = readHeader(channel, dataStart);
+            ColumnMapping mapping = ColumnMapping.fromHeader(header.getHeader(), columns);
+            parseRange(channel, mapping, dataStart, size, header.getLineNumber(), sink, null);
+        }
+    }
+
+    /**
+     * Read a delta file. Every column is read regardless of the projection; rows whose
+     * op, operation or action column says D or DELETE go to 'deletes' with only their
+     * id set, all other rows go to 'upserts'.
+     */
+    void readDelta(Path file, Consumer<Employee> upserts, Consumer<Employee> deletes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextRecordStart(channel, 0, size);
+            EmployeeCsvParser header = readHeader(channel, dataStart);
+            ColumnMapping mapping = ColumnMapping.forDelta(header.getHeader());
+            parseRange(channel, mapping, dataStart, size, header.getLineNumber(), upserts, deletes);
+        }
+    }
+
+    /**
+     * Read the file on several threads. The file is split into byte ranges that begin
+     * on record boundaries, each range is parsed on its own worker and the results are
+     * joined in file order, so the list is identical to a single-threaded read.
+     */
+    public List<Employee> readParallel(Path file, int parallelism) throws IOException {
+        List<Employee> result = new ArrayList<>();
+        readParallel(file, parallelism, result::add);
+        return result;
+    }
+
+    /**
+     * Read the file on several threads and pass every employee to the sink, in file
+     * order and on the calling thread. Workers hand their rows over in small batches
+     * and wait once they are a few batches ahead, so only a bounded number of parsed
+     * rows exist at any time however large the file is.
+     */
+    public void readParallel(Path file, int parallelism, Consumer<Employee> sink) throws IOException {
+        // Workers take ranges in file order, so the range being drained is always running
+        // or finished even while later ranges wait for it
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextRecordStart(channel, 0, size);
+            EmployeeCsvParser header = readHeader(channel, dataStart);
+            ColumnMapping mapping = ColumnMapping.fromHeader(header.getHeader(), columns);
+            Ranges ranges = splitIntoRanges(file, channel, dataStart, size, header.getLineNumber(), parallelism, pool);
+
+            List<BlockingQueue<Batch>> handoffs = new ArrayList<>();
+            for (int i = 0; i < ranges.count(); i++) {
+                BlockingQueue<Batch> handoff = new ArrayBlockingQueue<>(BATCHES_AHEAD);
+                handoffs.add(handoff);
+                long start = ranges.bounds[i];
+                long end = ranges.bounds[i + 1];
+                long firstLine = ranges.firstLines[i];
+                pool.execute(() -> parseInBatches(channel, mapping, start, end, firstLine, handoff));
+            }
+
+            for (BlockingQueue<Batch> handoff : handoffs) {
+                Batch batch;
+                do {
+                    batch = take(handoff, file);
+                    if (batch.failure != null) {
+                        throw rethrow(batch.failure, file);
+                    }
+                    batch.rows.forEach(sink);
+                } while (!batch.last);
+            }
+        } finally {
+            pool.shutdownNow(); // Stops workers still waiting to hand over rows after a failure
+        }
+    }
+
+    /**
+     * Worker side of readParallel: parse the range and queue its rows batch by batch,
+     * ending with a last batch or a failure
+     */
+    private void parseInBatches(FileChannel channel, ColumnMapping mapping, long start, long end, long firstLine,
+                                BlockingQueue<Batch> handoff) {
+        try {
+            BatchingSink batches = new BatchingSink(handoff);
+            parseRange(channel, mapping, start, end, firstLine, batches, null);
+            put(handoff, new Batch(batches.rows, true, null));
+        } catch (InterruptedBatchException e) {
+            // The reader gave up on this range; nobody is waiting for the rest
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                put(handoff, new Batch(List.of(), true, e));
+            } catch (InterruptedBatchException ignored) {
+                // As above
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<Batch> handoff, Batch batch) {
+        try {
+            handoff.put(batch);
+        } catch (InterruptedException e) {
+            throw new InterruptedBatchException();
+        }
+    }
+
+    private static Batch take(BlockingQueue<Batch> handoff, Path file) throws IOException {
+        try {
+            return handoff.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + file, e);
+        }
+    }
+
+    /**
+     * Throw a worker's failure as the caller would have seen it on its own thread;
+     * declared to return so call sites can say 'throw rethrow(...)'
+     */
+    private static IOException rethrow(Throwable cause, Path file) throws IOException {
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException("Failed to load " + file, cause);
+    }
+
+    /**
+     * Rows parsed from one range, in order; the last batch of a range may carry the
+     * failure that ended it
+     */
+    private static final class Batch {
+        final List<Employee> rows;
+        final boolean last;
+        final Throwable failure;
+
+        Batch(List<Employee> rows, boolean last, Throwable failure) {
+            this.rows = rows;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Collects a worker's rows and queues every full batch
+     */
+    private static final class BatchingSink implements Consumer<Employee> {
+        private final BlockingQueue<Batch> handoff;
+        private List<Employee> rows = new ArrayList<>(BATCH_SIZE);
+
+        BatchingSink(BlockingQueue<Batch> handoff) {
+            this.handoff = handoff;
+        }
+
+        @Override
+        public void accept(Employee emp) {
+            rows.add(emp);
+            if (rows.size() == BATCH_SIZE) {
+                put(handoff, new Batch(rows, false, null));
+                rows = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Unwinds a worker whose reader stopped waiting for its rows
+     */
+    private static final class InterruptedBatchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InterruptedBatchException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService pool, List<Callable<T>> tasks, Path file) throws IOException {
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + file, e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause(), file);
+        }
+    }
+
+    /**
+     * Parse the header row in [0, headerEnd); the returned parser holds the column names
+     * and the line on which the data rows start
+     */
+    private EmployeeCsvParser readHeader(FileChannel channel, long headerEnd) throws IOException {
+        if (headerEnd > windowSize) {
+            throw new IOException("CSV header is larger than the mapping window");
+        }
+        EmployeeCsvParser headerParser = new EmployeeCsvParser();
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd);
+        headerParser.parseHeader(header, 0, (int) headerEnd, true);
+        return headerParser;
+    }
+
+    /**
+     * Parse the records in [start, end) of the file, mapping it window by window
+     */
+    private void parseRange(FileChannel channel, ColumnMapping mapping, long start, long end, long firstLine,
+                            Consumer<Employee> sink, Consumer<Employee> deletes) throws IOException {
+        EmployeeCsvParser parser = new EmployeeCsvParser(mapping, rejects, firstLine);
+        parser.onDelete(deletes);
+        long position = start;
+
+        while (position < end) {
+            long length = Math.min(windowSize, end - position);
+            boolean isLastWindow = position + length == end;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int consumed = parser.parse(window, 0, (int) length, isLastWindow, sink);
+            if (consumed == 0) {
+                throw new IOException("CSV record at byte " + position + " is larger than the mapping window");
+            }
+            // The next window starts at the first record that did not fit completely
+            position += consumed;
+        }
+    }
+
+    /**
+     * Record-aligned byte ranges and the line number each one starts on
+     */
+    private static final class Ranges {
+        final long[] bounds;
+        final long[] firstLines;
+
+        Ranges(long[] bounds, long[] firstLines) {
+            this.bounds = bounds;
+            this.firstLines = firstLines;
+        }
+
+        int count() {
+            return bounds.length - 1;
+        }
+    }
+
+    /**
+     * Split [dataStart, size) into ranges whose boundaries all fall on record starts.
+     * A line break inside a quoted field is not a record boundary, and whether a quote
+     * opens a field depends on where it stands, so each nominal range is first run
+     * through the parser's state machine in parallel from every state it could start
+     * in. Chaining those results from dataStart gives the true state at each nominal
+     * split point, from which it is moved to the next real record. Line breaks are
+     * counted in the same pass so rejects can report file line numbers.
+     */
+    private Ranges splitIntoRanges(Path file, FileChannel channel, long dataStart, long size, long firstLine,
+                                   int parallelism, ExecutorService pool) throws IOException {
+        long length = size - dataStart;
+        // A few ranges per worker keeps the threads busy when record density varies
+        int rangeCount = (int) Math.max(1, Math.min((long) parallelism * 4, length / MIN_RANGE_SIZE));
+
+        long[] nominal = new long[rangeCount + 1];
+        for (int i = 0; i <= rangeCount; i++) {
+            nominal[i] = dataStart + length * i / rangeCount;
+        }
+
+        List<Callable<RangeScan>> scans = new ArrayList<>();
+        for (int i = 0; i < rangeCount - 1; i++) {
+            long start = nominal[i];
+            long end = nominal[i + 1];
+            scans.add(() -> scan(channel, start, end));
+        }
+        List<RangeScan> rangeScans = invokeAll(pool, scans, file);
+
+        long[] bounds = new long[rangeCount + 1];
+        long[] firstLines = new long[rangeCount];
+        bounds[0] = dataStart;
+        firstLines[0] = firstLine;
+        int state = EmployeeCsvParser.RECORD_END; // dataStart follows the header row
+        long lineBreaksBefore = 0;
+        for (int i = 1; i < rangeCount; i++) {
+            state = rangeScans.get(i - 1).endStates[state];
+            lineBreaksBefore += rangeScans.get(i - 1).lineBreaks;
+            bounds[i] = Math.max(bounds[i - 1], nextRecordStart(channel, nominal[i], size, state));
+            firstLines[i] = firstLine + lineBreaksBefore + scan(channel, nominal[i], bounds[i]).lineBreaks;
+        }
+        bounds[rangeCount] = size;
+        return new Ranges(bounds, firstLines);
+    }
+
+    /**
+     * Where the parser's state machine ends after [start, end) for each state it could
+     * start in, and the line breaks in between
+     */
+    private static final class RangeScan {
+        final int[] endStates;
+        final long lineBreaks;
+
+        RangeScan(int[] endStates, long lineBreaks) {
+            this.endStates = endStates;
+            this.lineBreaks = lineBreaks;
+        }
+    }
+
+    /**
+     * Run [start, end) through the parser's state machine from every start state at
+     * once. Start states that reach the same state follow the same path from then on,
+     * so they are merged after each block and usually only two remain.
+     */
+    private RangeScan scan(FileChannel channel, long start, long end) throws IOException {
+        int[] live = new int[EmployeeCsvParser.SCAN_STATES];
+        int[] liveOf = new int[EmployeeCsvParser.SCAN_STATES]; // Start state -> index into live
+        for (int s = 0; s < live.length; s++) {
+            live[s] = s;
+            liveOf[s] = s;
+        }
+        int liveCount = live.length;
+        long lineBreaks = 0;
+        long position = start;
+        while (position < end) {
+            long length = Math.min(windowSize, end - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                if (b == '\n') {
+                    lineBreaks++;
+                }
+                for (int k = 0; k < liveCount; k++) {
+                    live[k] = EmployeeCsvParser.nextScanState(live[k], b);
+                }
+            }
+            position += length;
+
+            int merged = 0;
+            int[] mergedOf = new int[liveCount];
+            for (int k = 0; k < liveCount; k++) {
+                int m = 0;
+                while (m < merged && live[m] != live[k]) {
+                    m++;
+                }
+                if (m == merged) {
+                    live[merged++] = live[k];
+                }
+                mergedOf[k] = m;
+            }
+            for (int s = 0; s < liveOf.length; s++) {
+                liveOf[s] = mergedOf[liveOf[s]];
+            }
+            liveCount = merged;
+        }
+
+        int[] endStates = new int[EmployeeCsvParser.SCAN_STATES];
+        for (int s = 0; s < endStates.length; s++) {
+            endStates[s] = live[liveOf[s]];
+        }
+        return new RangeScan(endStates, lineBreaks);
+    }
+
+    private static long nextRecordStart(FileChannel channel, long from, long size) throws IOException {
+        return nextRecordStart(channel, from, size, EmployeeCsvParser.FIELD_START);
+    }
+
+    /**
+     * Return the offset of the first record that starts at or after 'from', given the
+     * parser's state there, or 'size' if there is none
+     */
+    private static long nextRecordStart(FileChannel channel, long from, long size, int state) throws IOException {
+        if (state == EmployeeCsvParser.RECORD_END) {
+            return from;
+        }
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long position = from;
+
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                state = EmployeeCsvParser.nextScanState(state, probe.get(i));
+                if (state == EmployeeCsvParser.RECORD_END) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
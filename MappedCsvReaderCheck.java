@@ -0,0 +1,83 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that parallel reads split a file exactly where the serial parser finds its
+ * records. The files have a quote inside an unquoted field early on, followed by
+ * quoted addresses that span two lines, so a split that tracks quotes naively lands
+ * inside a quoted field at the range boundaries. Each file is read serially and in
+ * parallel with 1 to 8 threads, and every row must match; exits with status 1 if
+ * one does not. Run with an optional row count (default 60,000).
+ */
+public final class MappedCsvReaderCheck {
+
+    private static final int[] PARALLELISM = {1, 2, 4, 8};
+
+    private MappedCsvReaderCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 60_000;
+        int mismatches = 0;
+        // Shift where the stray quote and the multi-line rows fall relative to the boundaries
+        for (int strayRow = 10; strayRow < 17; strayRow++) {
+            Path csv = Files.createTempFile("split-check", ".csv");
+            try {
+                writeCsv(csv, rows, strayRow);
+                MappedCsvReader reader = new MappedCsvReader();
+                List<Employee> serial = new ArrayList<>();
+                reader.read(csv, serial::add);
+                for (int parallelism : PARALLELISM) {
+                    List<Employee> parallel = reader.readParallel(csv, parallelism);
+                    int bad = compare(serial, parallel);
+                    if (bad > 0) {
+                        System.out.printf("Stray quote on row %d, parallelism %d: %d rows differ%n",
+                                strayRow, parallelism, bad);
+                    }
+                    mismatches += bad;
+                }
+            } finally {
+                Files.delete(csv);
+            }
+        }
+        System.out.println(mismatches == 0 ? "Parallel reads match the serial read"
+                : mismatches + " rows differ from the serial read");
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int compare(List<Employee> serial, List<Employee> parallel) {
+        int bad = Math.abs(serial.size() - parallel.size());
+        for (int i = 0; i < Math.min(serial.size(), parallel.size()); i++) {
+            Employee a = serial.get(i);
+            Employee b = parallel.get(i);
+            if (a.getEmployeeId() != b.getEmployeeId() || !a.getAddress().equals(b.getAddress())
+                    || !a.getEmail().equals(b.getEmail())) {
+                bad++;
+            }
+        }
+        return bad;
+    }
+
+    private static void writeCsv(Path file, int rows, int strayRow) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,firstName,lastName,email,department,position,salary,hireDate,phone,address\n");
+            for (int i = 0; i < rows; i++) {
+                String address = i == strayRow ? "Unit 5\" pipe lane"
+                        : i % 7 == 0 ? "\"12, Main St\nApt 3\""
+                        : "Block " + i;
+                writer.write(i + ",First" + i + ",Last" + i + ",employee" + i + "@company.com,Engineering,"
+                        + "Software Engineer," + (50_000 + i % 50_000) + ",2020-01-01,+1-555-0100," + address + "\n");
+            }
+        }
+    }
+}
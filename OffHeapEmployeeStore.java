@@ -0,0 +1,396 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Employee storage outside the Java heap, in direct buffers or a memory-mapped file.
+ * Each row is a fixed 24-byte record (id, hire epoch day, salary and a reference to
+ * its strings); the row's strings follow each other in a separate arena, each
+ * prefixed by its varint length. Both regions are allocated in fixed-size chunks,
+ * so the heap only holds one small object per chunk however many rows are stored.
+ * Rows are appended by one thread; once loading is done the store may be read from
+ * any thread. Close the store to release its memory; it cannot be used afterwards.
+ * Closing is not coordinated with readers, so close it only once no other thread
+ * is reading it.
+ */
+public class OffHeapEmployeeStore implements AutoCloseable {
+
+    private static final int RECORD_SIZE = 24;
+    private static final int ID_OFFSET = 0;
+    private static final int HIRE_DAY_OFFSET = 4;
+    private static final int SALARY_OFFSET = 8;
+    private static final int STRINGS_OFFSET = 16;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    // String fields in the order they are written to the arena
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int DEPARTMENT = 3;
+    private static final int POSITION = 4;
+    private static final int PHONE = 5;
+    private static final int ADDRESS = 6;
+
+    // Native memory held by every open store in this JVM
+    private static final AtomicLong TOTAL_ALLOCATED = new AtomicLong();
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final long maxBytes;
+    private final int recordsPerChunk;
+    private final List<ByteBuffer> recordChunks = new ArrayList<>();
+    private final List<ByteBuffer> stringChunks = new ArrayList<>();
+    private long fileSize;
+    private long allocated;
+    private long stringPosition;
+    private int size;
+    private volatile boolean closed;
+
+    private OffHeapEmployeeStore(FileChannel channel, int chunkSize, long maxBytes) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.maxBytes = maxBytes;
+        this.recordsPerChunk = chunkSize / RECORD_SIZE;
+    }
+
+    /**
+     * Store rows in direct buffers
+     */
+    public static OffHeapEmployeeStore direct() {
+        return direct(Long.MAX_VALUE);
+    }
+
+    /**
+     * Store rows in direct buffers, refusing to allocate more than maxBytes in total
+     */
+    public static OffHeapEmployeeStore direct(long maxBytes) {
+        return new OffHeapEmployeeStore(null, DEFAULT_CHUNK_SIZE, maxBytes);
+    }
+
+    /**
+     * Store rows in a memory-mapped file, which is created or truncated. The operating
+     * system pages the data in and out, so the dataset may exceed physical memory.
+     */
+    public static OffHeapEmployeeStore mapped(Path file) throws IOException {
+        return new OffHeapEmployeeStore(openMappedFile(file), DEFAULT_CHUNK_SIZE, Long.MAX_VALUE);
+    }
+
+    static OffHeapEmployeeStore mapped(Path file, int chunkSize) throws IOException {
+        return new OffHeapEmployeeStore(openMappedFile(file), chunkSize, Long.MAX_VALUE);
+    }
+
+    static OffHeapEmployeeStore direct(int chunkSize, long maxBytes) {
+        return new OffHeapEmployeeStore(null, chunkSize, maxBytes);
+    }
+
+    private static FileChannel openMappedFile(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Native memory currently held by all open stores in this JVM
+     */
+    public static long getTotalAllocatedBytes() {
+        return TOTAL_ALLOCATED.get();
+    }
+
+    /**
+     * Append a copy of the employee's fields as a new row
+     */
+    public void add(EmployeeView emp) {
+        checkOpen();
+        int row = size;
+        if (row / recordsPerChunk == recordChunks.size()) {
+            recordChunks.add(allocate(chunkSize));
+        }
+        ByteBuffer records = recordChunks.get(row / recordsPerChunk);
+        int base = (row % recordsPerChunk) * RECORD_SIZE;
+        records.putInt(base + ID_OFFSET, emp.getEmployeeId());
+        records.putInt(base + HIRE_DAY_OFFSET, emp.getHireDate() == null ? NO_DATE : (int) emp.getHireDate().toEpochDay());
+        records.putDouble(base + SALARY_OFFSET, emp.getSalary());
+        records.putLong(base + STRINGS_OFFSET, writeStrings(emp));
+        size = row + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEmployeeId(int row) { return records(row).getInt(recordBase(row) + ID_OFFSET); }
+
+    public double getSalary(int row) { return records(row).getDouble(recordBase(row) + SALARY_OFFSET); }
+
+    public LocalDate getHireDate(int row) {
+        int day = records(row).getInt(recordBase(row) + HIRE_DAY_OFFSET);
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public String getFirstName(int row) { return readString(row, FIRST_NAME); }
+
+    public String getLastName(int row) { return readString(row, LAST_NAME); }
+
+    public String getEmail(int row) { return readString(row, EMAIL); }
+
+    public String getDepartment(int row) { return readString(row, DEPARTMENT); }
+
+    public String getPosition(int row) { return readString(row, POSITION); }
+
+    public String getPhoneNumber(int row) { return readString(row, PHONE); }
+
+    public String getAddress(int row) { return readString(row, ADDRESS); }
+
+    /**
+     * View of one row that reads through to the store; only valid while the store is open
+     */
+    public EmployeeView row(int row) {
+        checkRow(row);
+        return new Row(row);
+    }
+
+    /**
+     * Visit every row through one reused view that must not be kept past the call
+     */
+    public void forEachRow(Consumer<? super EmployeeView> action) {
+        Row cursor = new Row(0);
+        int rows = size;
+        for (int i = 0; i < rows; i++) {
+            cursor.row = i;
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Stream the rows as separate views, safe to collect or sort
+     */
+    public Stream<EmployeeView> stream() {
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    public double getTotalSalary() {
+        checkOpen();
+        double sum = 0.0;
+        int rows = size;
+        for (int chunk = 0; chunk * recordsPerChunk < rows; chunk++) {
+            ByteBuffer records = recordChunks.get(chunk);
+            int count = Math.min(recordsPerChunk, rows - chunk * recordsPerChunk);
+            for (int i = 0; i < count; i++) {
+                sum += records.getDouble(i * RECORD_SIZE + SALARY_OFFSET);
+            }
+        }
+        return sum;
+    }
+
+    public double getAverageSalary() {
+        int rows = size;
+        return rows == 0 ? 0.0 : getTotalSalary() / rows;
+    }
+
+    /**
+     * Native bytes allocated by this store, including unused chunk capacity
+     */
+    public long getAllocatedBytes() {
+        return allocated;
+    }
+
+    /**
+     * Native bytes filled with row data
+     */
+    public long getUsedBytes() {
+        long stringBytes = stringChunks.isEmpty() ? 0
+                : (long) (stringChunks.size() - 1) * chunkSize + (int) stringPosition;
+        return (long) size * RECORD_SIZE + stringBytes;
+    }
+
+    /**
+     * Release the store's memory. Direct buffers and mappings are dropped here and
+     * their native memory is returned once the JVM reclaims the buffer objects.
+     * Not safe while other threads read the store: the chunk lists are cleared
+     * without locking, so a concurrent read may fail with an arbitrary exception
+     * instead of the IllegalStateException reads after close get.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        recordChunks.clear();
+        stringChunks.clear();
+        TOTAL_ALLOCATED.addAndGet(-allocated);
+        allocated = 0;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write the row's strings to the arena and return their packed location
+     */
+    private long writeStrings(EmployeeView emp) {
+        String[] values = {emp.getFirstName(), emp.getLastName(), emp.getEmail(), emp.getDepartment(),
+                emp.getPosition(), emp.getPhoneNumber(), emp.getAddress()};
+        byte[][] encoded = new byte[values.length][];
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+                length += encoded[i].length;
+            }
+            length += 5; // Worst-case varint length prefix
+        }
+
+        // A row's strings never straddle chunks; an oversized row gets a chunk of its own
+        if (stringChunks.isEmpty() || (int) stringPosition + length > stringChunks.get(stringChunks.size() - 1).capacity()) {
+            stringChunks.add(allocate(Math.max(chunkSize, length)));
+            stringPosition = 0;
+        }
+        int chunk = stringChunks.size() - 1;
+        ByteBuffer strings = stringChunks.get(chunk);
+        int start = (int) stringPosition;
+        int position = start;
+        for (byte[] bytes : encoded) {
+            // Length + 1, so that 0 can stand for null
+            position = writeVarint(strings, position, bytes == null ? 0 : bytes.length + 1);
+            if (bytes != null) {
+                strings.put(position, bytes);
+                position += bytes.length;
+            }
+        }
+        stringPosition = position;
+        return (long) chunk << 32 | start;
+    }
+
+    private String readString(int row, int field) {
+        long location = records(row).getLong(recordBase(row) + STRINGS_OFFSET);
+        ByteBuffer strings = stringChunks.get((int) (location >>> 32));
+        int position = (int) location;
+        for (int i = 0; ; i++) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = strings.get(position++);
+                header |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            if (i == field) {
+                if (header == 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[header - 1];
+                strings.get(position, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            position += header == 0 ? 0 : header - 1;
+        }
+    }
+
+    private static int writeVarint(ByteBuffer buf, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put(position++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put(position++, (byte) value);
+        return position;
+    }
+
+    private ByteBuffer allocate(int bytes) {
+        if (allocated + bytes > maxBytes) {
+            throw new IllegalStateException("Off-heap store limit of " + maxBytes + " bytes reached");
+        }
+        ByteBuffer buffer;
+        if (channel == null) {
+            buffer = ByteBuffer.allocateDirect(bytes);
+        } else {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not extend the mapped store: " + e.getMessage(), e);
+            }
+            fileSize += bytes;
+        }
+        allocated += bytes;
+        TOTAL_ALLOCATED.addAndGet(bytes);
+        return buffer;
+    }
+
+    private ByteBuffer records(int row) {
+        checkRow(row);
+        return recordChunks.get(row / recordsPerChunk);
+    }
+
+    private int recordBase(int row) {
+        return (row % recordsPerChunk) * RECORD_SIZE;
+    }
+
+    private void checkRow(int row) {
+        checkOpen();
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for store of " + size);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap store is closed");
+        }
+    }
+
+    /**
+     * An employee row that reads its fields from the store
+     */
+    private final class Row implements EmployeeView {
+        private int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public int getEmployeeId() { return OffHeapEmployeeStore.this.getEmployeeId(row); }
+
+        @Override
+        public String getFirstName() { return OffHeapEmployeeStore.this.getFirstName(row); }
+
+        @Override
+        public String getLastName() { return OffHeapEmployeeStore.this.getLastName(row); }
+
+        @Override
+        public String getEmail() { return OffHeapEmployeeStore.this.getEmail(row); }
+
+        @Override
+        public String getDepartment() { return OffHeapEmployeeStore.this.getDepartment(row); }
+
+        @Override
+        public String getPosition() { return OffHeapEmployeeStore.this.getPosition(row); }
+
+        @Override
+        public double getSalary() { return OffHeapEmployeeStore.this.getSalary(row); }
+
+        @Override
+        public LocalDate getHireDate() { return OffHeapEmployeeStore.this.getHireDate(row); }
+
+        @Override
+        public String getPhoneNumber() { return OffHeapEmployeeStore.this.getPhoneNumber(row); }
+
+        @Override
+        public String getAddress() { return OffHeapEmployeeStore.this.getAddress(row); }
+    }
+}
@@ -1,6 +1,8 @@
 package com.harshitha.pdfreport.generator;
 
 import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeView;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -8,11 +10,28 @@ import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import java.awt.Color;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Enhanced PDF Report Generator with improved table formatting and 4-sided borders
@@ -32,10 +51,24 @@ public class PDFReportGenerator {
     /**
      * Generate a comprehensive employee report
      */
-    public void generateEmployeeReport(List<Employee> employees, String outputPath) throws IOException {
+    public void generateEmployeeReport(List<? extends EmployeeView> employees, String outputPath) throws IOException {
+        writeEmployeeReport(employees::stream, outputPath, MemoryUsageSetting.setupMainMemoryOnly());
+    }
+
+    /**
+     * Generate a comprehensive employee report from a re-playable stream of rows.
+     * The supplier is called once per pass (statistics, then table), so rows never
+     * have to be held in memory; the PDF itself is buffered in a temporary file.
+     */
+    public void generateEmployeeReport(Supplier<? extends Stream<? extends EmployeeView>> employees, String outputPath) throws IOException {
+        writeEmployeeReport(employees, outputPath, MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    private void writeEmployeeReport(Supplier<? extends Stream<? extends EmployeeView>> employees, String outputPath, MemoryUsageSetting memory) throws IOException {
         String filename = outputPath + "/Employee_Report_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".pdf";
+        EmployeeStatistics statistics = collectStatistics(employees);
 
-        try (PDDocument document = new PDDocument()) {
+        try (PDDocument document = new PDDocument(memory)) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
 
@@ -44,15 +77,17 @@ public class PDFReportGenerator {
             float yPosition = page.getMediaBox().getHeight() - MARGIN;
 
             // Header
-            yPosition = drawHeader(contentStream, yPosition, "Employee Report", employees.size(), page);
+            yPosition = drawHeader(contentStream, yPosition, "Employee Report", statistics.getCount(), page);
             yPosition -= 40;
 
             // Summary Statistics
-            yPosition = drawSummarySection(contentStream, yPosition, employees);
+            yPosition = drawSummarySection(contentStream, yPosition, statistics);
             yPosition -= 40;
 
             // Employee Table with enhanced formatting
-            drawEnhancedEmployeeTable(contentStream, yPosition, employees, document);
+            try (Stream<? extends EmployeeView> rows = employees.get()) {
+                drawEnhancedEmployeeTable(contentStream, yPosition, rows.iterator(), statistics.getCount(), document);
+            }
 
             contentStream.close();
             document.save(filename);
@@ -63,11 +98,24 @@ public class PDFReportGenerator {
     /**
      * Generate department-wise report
      */
-    public void generateDepartmentReport(List<Employee> employees, String department, String outputPath) throws IOException {
+    public void generateDepartmentReport(List<? extends EmployeeView> employees, String department, String outputPath) throws IOException {
+        writeDepartmentReport(employees::stream, department, outputPath, MemoryUsageSetting.setupMainMemoryOnly());
+    }
+
+    /**
+     * Generate department-wise report from a re-playable stream of the department's rows
+     */
+    public void generateDepartmentReport(Supplier<? extends Stream<? extends EmployeeView>> employees, String department, String outputPath) throws IOException {
+        writeDepartmentReport(employees, department, outputPath, MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    private void writeDepartmentReport(Supplier<? extends Stream<? extends EmployeeView>> employees, String department, String outputPath,
+                                       MemoryUsageSetting memory) throws IOException {
         String filename = outputPath + "/Department_Report_" + department.replaceAll("\\s+", "_") + "_" +
                 LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".pdf";
+        EmployeeStatistics statistics = collectStatistics(employees);
 
-        try (PDDocument document = new PDDocument()) {
+        try (PDDocument document = new PDDocument(memory)) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
 
@@ -76,15 +124,17 @@ public class PDFReportGenerator {
             float yPosition = page.getMediaBox().getHeight() - MARGIN;
 
             // Header
-            yPosition = drawHeader(contentStream, yPosition, department + " Department Report", employees.size(), page);
+            yPosition = drawHeader(contentStream, yPosition, department + " Department Report", statistics.getCount(), page);
             yPosition -= 40;
 
             // Department Statistics
-            yPosition = drawDepartmentStats(contentStream, yPosition, employees, department);
+            yPosition = drawDepartmentStats(contentStream, yPosition, statistics, department);
             yPosition -= 40;
 
             // Employee Table with enhanced formatting
-            drawEnhancedEmployeeTable(contentStream, yPosition, employees, document);
+            try (Stream<? extends EmployeeView> rows = employees.get()) {
+                drawEnhancedEmployeeTable(contentStream, yPosition, rows.iterator(), statistics.getCount(), document);
+            }
 
             contentStream.close();
             document.save(filename);
@@ -95,10 +145,58 @@ public class PDFReportGenerator {
     /**
      * Generate salary analysis report
      */
-    public void generateSalaryReport(List<Employee> employees, String outputPath) throws IOException {
+    public void generateSalaryReport(List<? extends EmployeeView> employees, String outputPath) throws IOException {
+        writeSalaryReport(employees::stream, HighEarnerOrder.SORT_IN_MEMORY, outputPath,
+                MemoryUsageSetting.setupMainMemoryOnly());
+    }
+
+    /**
+     * Generate salary analysis report from employees already sorted by salary, highest
+     * first. The above-average earners are then the head of the list, so they are
+     * drawn without filtering or sorting.
+     */
+    public void generateSalaryReportFromSorted(List<? extends EmployeeView> employeesBySalary, String outputPath) throws IOException {
+        writeSalaryReport(employeesBySalary::stream, HighEarnerOrder.SORTED, outputPath,
+                MemoryUsageSetting.setupMainMemoryOnly());
+    }
+
+    /**
+     * Generate salary analysis report from a re-playable stream of rows.
+     * The above-average earners are sorted in runs of bounded size that are spilled to
+     * temporary files during one more pass over the rows, then merged while the table
+     * is drawn, so memory stays bounded by the run size however many rows there are.
+     */
+    public void generateSalaryReport(Supplier<? extends Stream<? extends EmployeeView>> employees, String outputPath) throws IOException {
+        writeSalaryReport(employees, HighEarnerOrder.SORT_EXTERNALLY, outputPath, MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    /**
+     * How the above-average earners are brought into descending salary order
+     */
+    private enum HighEarnerOrder { SORTED, SORT_IN_MEMORY, SORT_EXTERNALLY }
+
+    private void writeSalaryReport(Supplier<? extends Stream<? extends EmployeeView>> employees, HighEarnerOrder order,
+                                   String outputPath, MemoryUsageSetting memory) throws IOException {
         String filename = outputPath + "/Salary_Analysis_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".pdf";
+        EmployeeStatistics statistics = collectStatistics(employees);
+        double avgSalary = statistics.getAverageSalary();
+
+        long aboveAvg;
+        long belowAvg;
+        try (Stream<? extends EmployeeView> rows = employees.get()) {
+            long[] counts = new long[2];
+            rows.forEach(emp -> {
+                if (emp.getSalary() > avgSalary) {
+                    counts[0]++;
+                } else if (emp.getSalary() < avgSalary) {
+                    counts[1]++;
+                }
+            });
+            aboveAvg = counts[0];
+            belowAvg = counts[1];
+        }
 
-        try (PDDocument document = new PDDocument()) {
+        try (PDDocument document = new PDDocument(memory)) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
 
@@ -107,19 +205,14 @@ public class PDFReportGenerator {
             float yPosition = page.getMediaBox().getHeight() - MARGIN;
 
             // Header
-            yPosition = drawHeader(contentStream, yPosition, "Salary Analysis Report", employees.size(), page);
+            yPosition = drawHeader(contentStream, yPosition, "Salary Analysis Report", statistics.getCount(), page);
             yPosition -= 40;
 
             // Salary Statistics
-            yPosition = drawSalaryAnalysis(contentStream, yPosition, employees);
+            yPosition = drawSalaryAnalysis(contentStream, yPosition, statistics, aboveAvg, belowAvg);
             yPosition -= 40;
 
             // High Earners Table
-            List<Employee> highEarners = employees.stream()
-                    .filter(emp -> emp.getSalary() > getAverageSalary(employees))
-                    .sorted((e1, e2) -> Double.compare(e2.getSalary(), e1.getSalary()))
-                    .toList();
-
             contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
             contentStream.beginText();
             contentStream.newLineAtOffset(MARGIN, yPosition);
@@ -127,7 +220,20 @@ public class PDFReportGenerator {
             contentStream.endText();
             yPosition -= 30;
 
-            drawEnhancedEmployeeTable(contentStream, yPosition, highEarners, document);
+            if (order == HighEarnerOrder.SORT_EXTERNALLY) {
+                try (SalaryRunMerger highEarners = SalaryRunMerger.sort(employees, avgSalary)) {
+                    drawEnhancedEmployeeTable(contentStream, yPosition, highEarners, (int) aboveAvg, document);
+                }
+            } else {
+                try (Stream<? extends EmployeeView> rows = employees.get()) {
+                    Iterator<? extends EmployeeView> highEarners = order == HighEarnerOrder.SORTED
+                            ? rows.takeWhile(emp -> emp.getSalary() > avgSalary).iterator()
+                            : rows.filter(emp -> emp.getSalary() > avgSalary)
+                                    .sorted((e1, e2) -> Double.compare(e2.getSalary(), e1.getSalary()))
+                                    .iterator();
+                    drawEnhancedEmployeeTable(contentStream, yPosition, highEarners, (int) aboveAvg, document);
+                }
+            }
 
             contentStream.close();
             document.save(filename);
@@ -135,17 +241,27 @@ public class PDFReportGenerator {
         }
     }
 
+    /**
+     * Gather summary statistics in one pass over the rows
+     */
+    private EmployeeStatistics collectStatistics(Supplier<? extends Stream<? extends EmployeeView>> employees) {
+        try (Stream<? extends EmployeeView> rows = employees.get()) {
+            return EmployeeStatistics.of(rows);
+        }
+    }
+
     /**
      * Draw enhanced employee table with complete 4-sided borders and professional formatting
      */
-    private void drawEnhancedEmployeeTable(PDPageContentStream contentStream, float yPosition, List<Employee> employees, PDDocument document) throws IOException {
+    private void drawEnhancedEmployeeTable(PDPageContentStream contentStream, float yPosition, Iterator<? extends EmployeeView> employees,
+                                           int rowCount, PDDocument document) throws IOException {
         float tableWidth = getTotalWidth(COLUMN_WIDTHS);
         float tableStartX = MARGIN;
         float tableStartY = yPosition;
 
         // Draw table background
         contentStream.setNonStrokingColor(Color.WHITE);
-        contentStream.addRect(tableStartX, yPosition - (employees.size() + 1) * ROW_HEIGHT - 10, tableWidth, (employees.size() + 1) * ROW_HEIGHT + 10);
+        contentStream.addRect(tableStartX, yPosition - (rowCount + 1) * ROW_HEIGHT - 10, tableWidth, (rowCount + 1) * ROW_HEIGHT + 10);
         contentStream.fill();
 
         // Draw header row
@@ -154,7 +270,8 @@ public class PDFReportGenerator {
 
         // Draw data rows
         boolean alternateRow = false;
-        for (Employee emp : employees) {
+        while (employees.hasNext()) {
+            EmployeeView emp = employees.next();
             if (yPosition < MARGIN + 50) {
                 // Add new page if needed
                 contentStream.close();
@@ -175,7 +292,7 @@ public class PDFReportGenerator {
         }
 
         // Draw complete table border (4 sides)
-        drawTableBorder(contentStream, tableStartX, tableStartY, tableWidth, employees.size());
+        drawTableBorder(contentStream, tableStartX, tableStartY, tableWidth, rowCount);
     }
 
     /**
@@ -211,7 +328,7 @@ public class PDFReportGenerator {
     /**
      * Draw individual table row with data
      */
-    private void drawTableRow(PDPageContentStream contentStream, float startX, float yPosition, Employee emp, boolean alternateRow) throws IOException {
+    private void drawTableRow(PDPageContentStream contentStream, float startX, float yPosition, EmployeeView emp, boolean alternateRow) throws IOException {
         // Row background
         if (alternateRow) {
             contentStream.setNonStrokingColor(new Color(248, 248, 248));
@@ -229,7 +346,7 @@ public class PDFReportGenerator {
                 emp.getDepartment(),
                 emp.getPosition(),
                 "$" + String.format("%,d", (int)emp.getSalary()),
-                emp.getHireDate().toString()
+                emp.getHireDate() == null ? "" : emp.getHireDate().toString()
         };
 
         float currentX = startX;
@@ -237,7 +354,7 @@ public class PDFReportGenerator {
             contentStream.beginText();
             contentStream.newLineAtOffset(currentX + CELL_PADDING, yPosition - 16);
 
-            String text = rowData[i];
+            String text = rowData[i] == null ? "" : rowData[i]; // Columns left out of a projection are null
             // Truncate text if too long
             if (text.length() > getMaxCharsForColumn(COLUMN_WIDTHS[i])) {
                 text = text.substring(0, getMaxCharsForColumn(COLUMN_WIDTHS[i]) - 3) + "...";
@@ -337,7 +454,7 @@ public class PDFReportGenerator {
     /**
      * Draw summary statistics section
      */
-    private float drawSummarySection(PDPageContentStream contentStream, float yPosition, List<Employee> employees) throws IOException {
+    private float drawSummarySection(PDPageContentStream contentStream, float yPosition, EmployeeStatistics statistics) throws IOException {
         contentStream.setNonStrokingColor(new Color(70, 130, 180));
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
         contentStream.beginText();
@@ -349,17 +466,11 @@ public class PDFReportGenerator {
         contentStream.setNonStrokingColor(Color.BLACK);
         contentStream.setFont(PDType1Font.HELVETICA, 11);
 
-        // Calculate statistics
-        double avgSalary = getAverageSalary(employees);
-        double minSalary = employees.stream().mapToDouble(Employee::getSalary).min().orElse(0);
-        double maxSalary = employees.stream().mapToDouble(Employee::getSalary).max().orElse(0);
-        long departmentCount = employees.stream().map(Employee::getDepartment).distinct().count();
-
         String[] stats = {
-                "Average Salary: $" + String.format("%,.2f", avgSalary),
-                "Salary Range: $" + String.format("%,.0f", minSalary) + " - $" + String.format("%,.0f", maxSalary),
-                "Departments: " + departmentCount,
-                "Latest Hire: " + employees.stream().map(Employee::getHireDate).max(LocalDate::compareTo).orElse(null)
+                "Average Salary: $" + String.format("%,.2f", statistics.getAverageSalary()),
+                "Salary Range: $" + String.format("%,.0f", statistics.getMinSalary()) + " - $" + String.format("%,.0f", statistics.getMaxSalary()),
+                "Departments: " + statistics.getDepartmentCount(),
+                "Latest Hire: " + (statistics.getLatestHire() == null ? "N/A" : statistics.getLatestHire())
         };
 
         for (String stat : stats) {
@@ -376,7 +487,7 @@ public class PDFReportGenerator {
     /**
      * Draw department-specific statistics
      */
-    private float drawDepartmentStats(PDPageContentStream contentStream, float yPosition, List<Employee> employees, String department) throws IOException {
+    private float drawDepartmentStats(PDPageContentStream contentStream, float yPosition, EmployeeStatistics statistics, String department) throws IOException {
         contentStream.setNonStrokingColor(new Color(70, 130, 180));
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
         contentStream.beginText();
@@ -388,14 +499,11 @@ public class PDFReportGenerator {
         contentStream.setNonStrokingColor(Color.BLACK);
         contentStream.setFont(PDType1Font.HELVETICA, 11);
 
-        double avgSalary = getAverageSalary(employees);
-        long positionCount = employees.stream().map(Employee::getPosition).distinct().count();
-
         String[] stats = {
                 "Department: " + department,
-                "Employee Count: " + employees.size(),
-                "Average Salary: $" + String.format("%,.2f", avgSalary),
-                "Unique Positions: " + positionCount
+                "Employee Count: " + statistics.getCount(),
+                "Average Salary: $" + String.format("%,.2f", statistics.getAverageSalary()),
+                "Unique Positions: " + statistics.getPositionCount()
         };
 
         for (String stat : stats) {
@@ -412,7 +520,8 @@ public class PDFReportGenerator {
     /**
      * Draw salary analysis section
      */
-    private float drawSalaryAnalysis(PDPageContentStream contentStream, float yPosition, List<Employee> employees) throws IOException {
+    private float drawSalaryAnalysis(PDPageContentStream contentStream, float yPosition, EmployeeStatistics statistics,
+                                     long aboveAvg, long belowAvg) throws IOException {
         contentStream.setNonStrokingColor(new Color(70, 130, 180));
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
         contentStream.beginText();
@@ -424,15 +533,11 @@ public class PDFReportGenerator {
         contentStream.setNonStrokingColor(Color.BLACK);
         contentStream.setFont(PDType1Font.HELVETICA, 11);
 
-        double avgSalary = getAverageSalary(employees);
-        long aboveAvg = employees.stream().filter(emp -> emp.getSalary() > avgSalary).count();
-        long belowAvg = employees.stream().filter(emp -> emp.getSalary() < avgSalary).count();
-
         String[] stats = {
-                "Average Salary: $" + String.format("%,.2f", avgSalary),
+                "Average Salary: $" + String.format("%,.2f", statistics.getAverageSalary()),
                 "Above Average: " + aboveAvg + " employees",
                 "Below Average: " + belowAvg + " employees",
-                "Highest Paid: " + employees.stream().max((e1, e2) -> Double.compare(e1.getSalary(), e2.getSalary())).map(Employee::getFullName).orElse("N/A")
+                "Highest Paid: " + statistics.getHighestPaidName()
         };
 
         for (String stat : stats) {
@@ -446,13 +551,6 @@ public class PDFReportGenerator {
         return yPosition;
     }
 
-    /**
-     * Calculate average salary
-     */
-    private double getAverageSalary(List<Employee> employees) {
-        return employees.stream().mapToDouble(Employee::getSalary).average().orElse(0.0);
-    }
-
     /**
      * Get total width of all columns
      */
@@ -470,4 +568,219 @@ public class PDFReportGenerator {
     private int getMaxCharsForColumn(float columnWidth) {
         return (int) ((columnWidth - 2 * CELL_PADDING) / 6);
     }
+
+    /**
+     * Rows earning more than a threshold, highest salary first and equal salaries in
+     * stream order, as sorted() would return them. One pass over the rows sorts them
+     * in runs of RUN_SIZE; when there is more than one run, each is spilled to a
+     * temporary file holding the columns the table draws, and iterating merges the
+     * runs. Closing deletes the files.
+     */
+    private static final class SalaryRunMerger implements Iterator<EmployeeView>, Closeable {
+
+        private static final int RUN_SIZE = 64 * 1024;
+        private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+        // Highest salary first; stable sorts keep equal salaries in stream order
+        private static final Comparator<EmployeeView> BY_SALARY =
+                (e1, e2) -> Double.compare(e2.getSalary(), e1.getSalary());
+        // Equal salaries come from the earlier run first, which came earlier in the stream
+        private static final Comparator<Run> BY_HEAD = (a, b) -> {
+            int bySalary = BY_SALARY.compare(a.head, b.head);
+            return bySalary != 0 ? bySalary : Integer.compare(a.index, b.index);
+        };
+
+        private final List<Run> runs = new ArrayList<>();
+        private final PriorityQueue<Run> heads = new PriorityQueue<>(BY_HEAD);
+        private Iterator<? extends EmployeeView> single = Collections.emptyIterator(); // When nothing was spilled
+
+        private SalaryRunMerger() {}
+
+        static SalaryRunMerger sort(Supplier<? extends Stream<? extends EmployeeView>> employees,
+                                    double threshold) throws IOException {
+            SalaryRunMerger merger = new SalaryRunMerger();
+            try {
+                List<EmployeeView> run = new ArrayList<>();
+                try (Stream<? extends EmployeeView> rows = employees.get()) {
+                    for (Iterator<? extends EmployeeView> it = rows.iterator(); it.hasNext(); ) {
+                        EmployeeView emp = it.next();
+                        if (!(emp.getSalary() > threshold)) {
+                            continue;
+                        }
+                        run.add(emp);
+                        if (run.size() == RUN_SIZE) {
+                            merger.spill(run);
+                            run.clear();
+                        }
+                    }
+                }
+                if (merger.runs.isEmpty()) {
+                    run.sort(BY_SALARY);
+                    merger.single = run.iterator();
+                    return merger;
+                }
+                if (!run.isEmpty()) {
+                    merger.spill(run);
+                }
+                for (Run spilled : merger.runs) {
+                    if (spilled.open()) {
+                        merger.heads.add(spilled);
+                    }
+                }
+                return merger;
+            } catch (IOException | RuntimeException e) {
+                try {
+                    merger.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return single.hasNext() || !heads.isEmpty();
+        }
+
+        @Override
+        public EmployeeView next() {
+            if (single.hasNext()) {
+                return single.next();
+            }
+            Run run = heads.poll();
+            if (run == null) {
+                throw new NoSuchElementException();
+            }
+            EmployeeView emp = run.head;
+            try {
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read a sorted salary run", e);
+            }
+            return emp;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (Run run : runs) {
+                try {
+                    run.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            runs.clear();
+            heads.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private void spill(List<EmployeeView> rows) throws IOException {
+            rows.sort(BY_SALARY);
+            Run run = new Run(runs.size(), Files.createTempFile("salary-run", ".bin"));
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run.file)))) {
+                out.writeInt(rows.size());
+                for (EmployeeView emp : rows) {
+                    out.writeInt(emp.getEmployeeId());
+                    writeString(out, emp.getFirstName());
+                    writeString(out, emp.getLastName());
+                    writeString(out, emp.getDepartment());
+                    writeString(out, emp.getPosition());
+                    out.writeDouble(emp.getSalary());
+                    out.writeBoolean(emp.getHireDate() != null);
+                    if (emp.getHireDate() != null) {
+                        out.writeLong(emp.getHireDate().toEpochDay());
+                    }
+                }
+            }
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        /**
+         * One sorted run in its temporary file, read one row ahead
+         */
+        private static final class Run implements Closeable {
+            final int index;
+            final Path file;
+            private DataInputStream in;
+            private int remaining;
+            EmployeeView head;
+
+            Run(int index, Path file) {
+                this.index = index;
+                this.file = file;
+            }
+
+            /**
+             * Start reading; returns false when the run is empty
+             */
+            boolean open() throws IOException {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), READ_BUFFER_SIZE));
+                remaining = in.readInt();
+                return advance();
+            }
+
+            /**
+             * Read the next row into head; returns false at the end of the run
+             */
+            boolean advance() throws IOException {
+                if (remaining == 0) {
+                    head = null;
+                    return false;
+                }
+                remaining--;
+                int id = in.readInt();
+                String firstName = readString(in);
+                String lastName = readString(in);
+                String department = readString(in);
+                String position = readString(in);
+                double salary = in.readDouble();
+                LocalDate hireDate = in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+                head = new Employee(id, firstName, lastName, null, department, position, salary, hireDate,
+                        null, null);
+                return true;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    if (in != null) {
+                        in.close();
+                    }
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+
+            private static String readString(DataInputStream in) throws IOException {
+                int length = in.readInt();
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Employee data stored as one column file per department plus a small manifest, so a
+ * department report reads only that department's partition. The manifest lists each
+ * partition's department, file and row count; it is replaced last when a directory is
+ * rewritten, so a store opened afterwards sees either the old or the new partitions,
+ * never a mix. A store opened before a rewrite should be reopened, since the old
+ * partition files are deleted.
+ */
+public final class PartitionedEmployeeStore {
+
+    public static final String MANIFEST = "manifest.properties";
+
+    private static final int VERSION = 1;
+
+    private final Path directory;
+    private final List<Partition> partitions;
+
+    private PartitionedEmployeeStore(Path directory, List<Partition> partitions) {
+        this.directory = directory;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Write the employees into the directory, one partition per distinct department
+     * (case-sensitive). Files of an earlier write are removed once the new manifest
+     * is in place. Returns the number of rows written.
+     */
+    public static long write(Path directory, Iterable<? extends EmployeeView> employees) throws IOException {
+        Map<String, List<EmployeeView>> byDepartment = new TreeMap<>(
+                (a, b) -> a == null ? (b == null ? 0 : -1) : b == null ? 1 : a.compareTo(b));
+        long count = 0;
+        for (EmployeeView emp : employees) {
+            byDepartment.computeIfAbsent(emp.getDepartment(), d -> new ArrayList<>()).add(emp);
+            count++;
+        }
+
+        Files.createDirectories(directory);
+        Properties previous = readManifest(directory);
+        int generation = previous == null ? 1 : Integer.parseInt(previous.getProperty("generation", "0")) + 1;
+
+        Properties manifest = new Properties();
+        manifest.setProperty("version", String.valueOf(VERSION));
+        manifest.setProperty("generation", String.valueOf(generation));
+        manifest.setProperty("partitions", String.valueOf(byDepartment.size()));
+        int index = 0;
+        for (Map.Entry<String, List<EmployeeView>> partition : byDepartment.entrySet()) {
+            // Departments may hold any character, so files are named by position
+            String file = String.format("g%d-p%04d.col", generation, index);
+            EmployeeColumnFile.write(directory.resolve(file), partition.getValue());
+            if (partition.getKey() != null) {
+                manifest.setProperty("partition." + index + ".department", partition.getKey());
+            }
+            manifest.setProperty("partition." + index + ".file", file);
+            manifest.setProperty("partition." + index + ".rows", String.valueOf(partition.getValue().size()));
+            index++;
+        }
+
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            manifest.store(out, "Employee partitions by department");
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        deleteUnlisted(directory, open(directory).partitions);
+        return count;
+    }
+
+    /**
+     * Open a partitioned directory, reading only its manifest
+     */
+    public static PartitionedEmployeeStore open(Path directory) throws IOException {
+        Properties manifest = readManifest(directory);
+        if (manifest == null) {
+            throw new NoSuchFileException(directory.resolve(MANIFEST).toString(), null,
+                    "No employee partition manifest");
+        }
+        try {
+            int version = Integer.parseInt(manifest.getProperty("version"));
+            if (version > VERSION) {
+                throw new IOException("Unsupported partition manifest version " + version
+                        + " (supported: " + VERSION + ")");
+            }
+            int count = Integer.parseInt(manifest.getProperty("partitions"));
+            List<Partition> partitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String file = manifest.getProperty("partition." + i + ".file");
+                if (file == null) {
+                    throw new IOException("Partition manifest has no file for partition " + i);
+                }
+                partitions.add(new Partition(manifest.getProperty("partition." + i + ".department"), file,
+                        Integer.parseInt(manifest.getProperty("partition." + i + ".rows"))));
+            }
+            return new PartitionedEmployeeStore(directory, Collections.unmodifiableList(partitions));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid partition manifest in " + directory, e);
+        }
+    }
+
+    /**
+     * Departments with a partition, sorted
+     */
+    public List<String> getDepartments() {
+        return new ArrayList<>(getDepartmentCounts().keySet());
+    }
+
+    /**
+     * Rows per department, from the manifest alone
+     */
+    public Map<String, Integer> getDepartmentCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Partition partition : partitions) {
+            if (partition.department != null) {
+                counts.put(partition.department, partition.rows);
+            }
+        }
+        return counts;
+    }
+
+    public long getRowCount() {
+        long rows = 0;
+        for (Partition partition : partitions) {
+            rows += partition.rows;
+        }
+        return rows;
+    }
+
+    /**
+     * Employees of the department ignoring case; only the matching partitions are read
+     */
+    public List<Employee> loadDepartment(String department) throws IOException {
+        List<Partition> matching = new ArrayList<>();
+        int rows = 0;
+        for (Partition partition : partitions) {
+            if (partition.department != null && partition.department.equalsIgnoreCase(department)) {
+                matching.add(partition);
+                rows += partition.rows;
+            }
+        }
+        List<Employee> employees = new ArrayList<>(rows);
+        for (Partition partition : matching) {
+            readPartition(partition.file, employees);
+        }
+        return employees;
+    }
+
+    /**
+     * Every employee, partition by partition
+     */
+    public List<Employee> loadAll() throws IOException {
+        List<Employee> employees = new ArrayList<>((int) getRowCount());
+        for (Partition partition : partitions) {
+            readPartition(partition.file, employees);
+        }
+        return employees;
+    }
+
+    /**
+     * Open the column file of the department ignoring case for queries on its block
+     * statistics, or return null when it has no partition. Departments differing
+     * only in case have a partition each, and the first is opened. Close the file when done.
+     */
+    public EmployeeColumnFile openPartition(String department) throws IOException {
+        for (Partition partition : partitions) {
+            if (partition.department != null && partition.department.equalsIgnoreCase(department)) {
+                return EmployeeColumnFile.open(directory.resolve(partition.file));
+            }
+        }
+        return null;
+    }
+
+    private void readPartition(String file, List<Employee> sink) throws IOException {
+        try (EmployeeColumnFile columns = EmployeeColumnFile.open(directory.resolve(file))) {
+            columns.forEach(sink::add);
+        }
+    }
+
+    private static Properties readManifest(Path directory) throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(MANIFEST))) {
+            manifest.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        return manifest;
+    }
+
+    /**
+     * Remove partition files the manifest no longer refers to
+     */
+    private static void deleteUnlisted(Path directory, List<Partition> partitions) throws IOException {
+        Set<String> listed = new HashSet<>();
+        for (Partition partition : partitions) {
+            listed.add(partition.file);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "g*-p*.col")) {
+            for (Path file : files) {
+                if (!listed.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static final class Partition {
+        final String department; // Null for employees without a department
+        final String file;
+        final int rows;
+
+        Partition(String department, String file, int rows) {
+            this.department = department;
+            this.file = file;
+            this.rows = rows;
+        }
+    }
+}
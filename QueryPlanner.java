@@ -0,0 +1,345 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Plans and runs an EmployeeQuery against one dataset. Every condition an index can
+ * answer is costed by the rows that index would return; the cheapest index (or a
+ * bitmap intersection when the bitmap index is built and covers several conditions)
+ * supplies the candidate rows, and the remaining conditions are checked on those rows
+ * only. A full scan is the fallback. Estimates for the final result assume the
+ * conditions are independent.
+ */
+final class QueryPlanner {
+
+    enum AccessPath { DEPARTMENT_INDEX, SALARY_INDEX, HIRE_DATE_INDEX, BITMAP_INDEX, FULL_SCAN }
+
+    private static final long UNKNOWN = -1;
+
+    private QueryPlanner() {}
+
+    static QueryResult run(EmployeeDataset dataset, EmployeeQuery query) {
+        long started = System.nanoTime();
+        List<EmployeeQuery.Condition> conditions = query.getConditions();
+        int size = dataset.size();
+        EmployeeBitmapIndex bitmaps = dataset.getBitmapIndexIfBuilt();
+
+        // Candidate access paths, each with the rows it is expected to return
+        List<Candidate> candidates = new ArrayList<>();
+        long[] estimates = new long[conditions.size()];
+        List<EmployeeQuery.Condition> bitmapConditions = new ArrayList<>();
+        List<Long> bitmapEstimates = new ArrayList<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            EmployeeQuery.Condition condition = conditions.get(i);
+            estimates[i] = estimate(dataset, bitmaps, condition);
+            AccessPath path = indexFor(condition);
+            if (path != null) {
+                candidates.add(new Candidate(path, List.of(condition), estimates[i]));
+            }
+            if (bitmaps != null && bitmapCovers(condition)) {
+                bitmapConditions.add(condition);
+                bitmapEstimates.add(estimates[i]);
+            }
+        }
+        if (bitmapConditions.size() >= 2) {
+            candidates.add(new Candidate(AccessPath.BITMAP_INDEX, bitmapConditions,
+                    combine(size, bitmapEstimates)));
+        }
+        candidates.add(new Candidate(AccessPath.FULL_SCAN, List.of(), size));
+
+        Candidate chosen = candidates.get(0);
+        for (Candidate candidate : candidates) {
+            if (candidate.estimate < chosen.estimate) {
+                chosen = candidate;
+            }
+        }
+
+        // Candidate rows (slots); null means every slot in list order
+        int[] rows = fetch(dataset, bitmaps, chosen);
+        boolean listOrder = chosen.path == AccessPath.DEPARTMENT_INDEX
+                || chosen.path == AccessPath.BITMAP_INDEX || chosen.path == AccessPath.FULL_SCAN;
+        EmployeeColumn sortColumn = query.getSortColumn();
+        boolean sortedByIndex = sortColumn != null
+                && ((chosen.path == AccessPath.SALARY_INDEX && sortColumn == EmployeeColumn.SALARY && query.isDescending())
+                || (chosen.path == AccessPath.HIRE_DATE_INDEX && sortColumn == EmployeeColumn.HIRE_DATE && !query.isDescending()));
+        if (!listOrder && !sortedByIndex) {
+            Arrays.sort(rows); // Index order is not wanted: restore list order, so ties stay stable
+        }
+
+        List<EmployeeQuery.Condition> residual = new ArrayList<>(conditions);
+        residual.removeAll(chosen.covered);
+        boolean stopAtLimit = sortColumn == null || sortedByIndex;
+        int limit = query.getLimit();
+        List<Employee> matched = new ArrayList<>();
+        int candidateRows = rows == null ? size : rows.length;
+        int slots = rows == null ? dataset.slotCount() : rows.length;
+        int read = 0;
+        while (read < slots && !(stopAtLimit && matched.size() >= limit)) {
+            Employee emp = dataset.employeeAt(rows == null ? read : rows[read]);
+            read++;
+            if (emp != null && matchesAll(residual, emp)) {
+                matched.add(emp);
+            }
+        }
+        int filtered = matched.size();
+
+        if (sortColumn != null && !sortedByIndex) {
+            matched.sort(comparator(sortColumn, query.isDescending()));
+        }
+        if (matched.size() > limit) {
+            matched = new ArrayList<>(matched.subList(0, limit));
+        }
+        if (!query.getColumns().equals(EmployeeColumn.all())) {
+            for (int i = 0; i < matched.size(); i++) {
+                matched.set(i, project(matched.get(i), query.getColumns()));
+            }
+        }
+
+        long estimatedRows = combine(size, estimatesOf(estimates));
+        StringBuilder plan = new StringBuilder();
+        plan.append("Query: ").append(query).append('\n');
+        plan.append(String.format("Access: %s%s (estimated %,d rows, actual %,d)%n", chosen.path,
+                chosen.covered.isEmpty() ? "" : " on " + join(chosen.covered), chosen.estimate, candidateRows));
+        plan.append("  Candidates:");
+        for (Candidate candidate : candidates) {
+            plan.append(String.format(" %s %,d;", candidate.path, candidate.estimate));
+        }
+        plan.setLength(plan.length() - 1);
+        plan.append('\n');
+        if (!residual.isEmpty()) {
+            plan.append(String.format("Filter: %s (estimated %,d rows, actual %,d of %,d read%s)%n", join(residual),
+                    estimatedRows, filtered, read, read < candidateRows ? ", stopped at the limit" : ""));
+        }
+        if (sortColumn != null) {
+            plan.append("Sort: ").append(sortColumn).append(query.isDescending() ? " DESC" : " ASC")
+                    .append(sortedByIndex ? " (index order)" : " (in memory)").append('\n');
+        }
+        if (limit != Integer.MAX_VALUE) {
+            plan.append(String.format("Limit: %,d (%,d rows)%n", limit, matched.size()));
+        }
+        plan.append("Columns: ").append(query.getColumns().equals(EmployeeColumn.all()) ? "all" : query.getColumns());
+
+        return new QueryResult(matched, chosen.path.name(), estimatedRows, plan.toString(),
+                System.nanoTime() - started);
+    }
+
+    private static AccessPath indexFor(EmployeeQuery.Condition condition) {
+        switch (condition.kind) {
+            case DEPARTMENT:
+                return AccessPath.DEPARTMENT_INDEX;
+            case SALARY:
+                return AccessPath.SALARY_INDEX;
+            case HIRE_DATE:
+                return AccessPath.HIRE_DATE_INDEX;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean bitmapCovers(EmployeeQuery.Condition condition) {
+        switch (condition.kind) {
+            case DEPARTMENT:
+            case POSITION:
+            case SALARY:
+                return true;
+            case HIRE_DATE:
+                return condition.coversWholeYears();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Rows the condition matches, from whichever index knows; UNKNOWN when none does
+     */
+    private static long estimate(EmployeeDataset dataset, EmployeeBitmapIndex bitmaps,
+                                 EmployeeQuery.Condition condition) {
+        switch (condition.kind) {
+            case DEPARTMENT:
+                return dataset.getDepartmentIndex().count(condition.value);
+            case SALARY:
+                int[] positions = salaryPositions(dataset.getSalaryIndex(), condition);
+                return Math.max(0, positions[1] - positions[0]);
+            case HIRE_DATE:
+                return dataset.getHireDateIndex().countBetween(condition.from, condition.to);
+            case POSITION:
+                return bitmaps == null ? UNKNOWN : bitmaps.position(condition.value).cardinality();
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    /**
+     * Start and end positions in the salary index of the salaries the condition allows
+     */
+    private static int[] salaryPositions(SalaryIndex index, EmployeeQuery.Condition condition) {
+        int from = condition.maxSalary == Double.POSITIVE_INFINITY ? 0
+                : condition.maxInclusive ? index.countAbove(condition.maxSalary) : index.countAtLeast(condition.maxSalary);
+        int to = condition.minSalary == Double.NEGATIVE_INFINITY ? index.size()
+                : condition.minInclusive ? index.countAtLeast(condition.minSalary) : index.countAbove(condition.minSalary);
+        return new int[] {from, to};
+    }
+
+    private static int[] fetch(EmployeeDataset dataset, EmployeeBitmapIndex bitmaps, Candidate chosen) {
+        switch (chosen.path) {
+            case DEPARTMENT_INDEX:
+                return dataset.getDepartmentIndex().rows(chosen.covered.get(0).value);
+            case SALARY_INDEX:
+                SalaryIndex salaries = dataset.getSalaryIndex();
+                int[] positions = salaryPositions(salaries, chosen.covered.get(0));
+                return salaries.rows(positions[0], positions[1]);
+            case HIRE_DATE_INDEX:
+                EmployeeQuery.Condition hired = chosen.covered.get(0);
+                return dataset.getHireDateIndex().rowsBetween(hired.from, hired.to);
+            case BITMAP_INDEX:
+                EmployeeBitmap result = bitmaps.all();
+                for (EmployeeQuery.Condition condition : chosen.covered) {
+                    result = result.and(bitmap(bitmaps, condition));
+                }
+                return result.toArray();
+            default:
+                return null;
+        }
+    }
+
+    private static EmployeeBitmap bitmap(EmployeeBitmapIndex bitmaps, EmployeeQuery.Condition condition) {
+        switch (condition.kind) {
+            case DEPARTMENT:
+                return bitmaps.department(condition.value);
+            case POSITION:
+                return bitmaps.position(condition.value);
+            case HIRE_DATE:
+                return bitmaps.hiredInYears(condition.from.getYear(), condition.to.getYear());
+            default:
+                EmployeeBitmap rows = bitmaps.all();
+                if (condition.minSalary != Double.NEGATIVE_INFINITY) {
+                    rows = rows.and(condition.minInclusive ? bitmaps.salaryAtLeast(condition.minSalary)
+                            : bitmaps.salaryAbove(condition.minSalary));
+                }
+                if (condition.maxSalary != Double.POSITIVE_INFINITY) {
+                    rows = rows.and(condition.maxInclusive ? bitmaps.salaryAtMost(condition.maxSalary)
+                            : bitmaps.salaryBelow(condition.maxSalary));
+                }
+                return rows;
+        }
+    }
+
+    /**
+     * Rows expected to pass all conditions with these estimates, assuming independence
+     */
+    private static long combine(int size, List<Long> estimates) {
+        double rows = size;
+        for (long estimate : estimates) {
+            if (estimate != UNKNOWN && size > 0) {
+                rows *= (double) estimate / size;
+            }
+        }
+        return Math.round(rows);
+    }
+
+    private static List<Long> estimatesOf(long[] estimates) {
+        List<Long> list = new ArrayList<>(estimates.length);
+        for (long estimate : estimates) {
+            list.add(estimate);
+        }
+        return list;
+    }
+
+    private static boolean matchesAll(List<EmployeeQuery.Condition> conditions, Employee emp) {
+        for (EmployeeQuery.Condition condition : conditions) {
+            if (!condition.test(emp)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Order by the column, keeping employees without a value last either way
+     */
+    private static Comparator<Employee> comparator(EmployeeColumn column, boolean descending) {
+        switch (column) {
+            case ID:
+                Comparator<Employee> byId = Comparator.comparingInt(Employee::getEmployeeId);
+                return descending ? byId.reversed() : byId;
+            case SALARY:
+                Comparator<Employee> bySalary = Comparator.comparingDouble(Employee::getSalary);
+                return descending ? bySalary.reversed() : bySalary;
+            case HIRE_DATE:
+                return nullsLast(Employee::getHireDate, descending);
+            case FIRST_NAME:
+                return nullsLast(Employee::getFirstName, descending);
+            case LAST_NAME:
+                return nullsLast(Employee::getLastName, descending);
+            case EMAIL:
+                return nullsLast(Employee::getEmail, descending);
+            case DEPARTMENT:
+                return nullsLast(Employee::getDepartment, descending);
+            case POSITION:
+                return nullsLast(Employee::getPosition, descending);
+            case PHONE:
+                return nullsLast(Employee::getPhoneNumber, descending);
+            default:
+                return nullsLast(Employee::getAddress, descending);
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Employee> nullsLast(
+            Function<Employee, T> key, boolean descending) {
+        Comparator<T> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(key, Comparator.nullsLast(order));
+    }
+
+    /**
+     * Copy of the employee with only the selected columns filled in
+     */
+    private static Employee project(Employee emp, Set<EmployeeColumn> columns) {
+        Employee copy = new Employee();
+        for (EmployeeColumn column : columns) {
+            switch (column) {
+                case ID: copy.setEmployeeId(emp.getEmployeeId()); break;
+                case FIRST_NAME: copy.setFirstName(emp.getFirstName()); break;
+                case LAST_NAME: copy.setLastName(emp.getLastName()); break;
+                case EMAIL: copy.setEmail(emp.getEmail()); break;
+                case DEPARTMENT: copy.setDepartment(emp.getDepartment()); break;
+                case POSITION: copy.setPosition(emp.getPosition()); break;
+                case SALARY: copy.setSalary(emp.getSalary()); break;
+                case HIRE_DATE: copy.setHireDate(emp.getHireDate()); break;
+                case PHONE: copy.setPhoneNumber(emp.getPhoneNumber()); break;
+                case ADDRESS: copy.setAddress(emp.getAddress()); break;
+                default: break;
+            }
+        }
+        return copy;
+    }
+
+    private static String join(List<EmployeeQuery.Condition> conditions) {
+        StringBuilder text = new StringBuilder();
+        for (EmployeeQuery.Condition condition : conditions) {
+            if (text.length() > 0) {
+                text.append(" AND ");
+            }
+            text.append(condition);
+        }
+        return text.toString();
+    }
+
+    private static final class Candidate {
+        final AccessPath path;
+        final List<EmployeeQuery.Condition> covered; // Conditions the path answers exactly
+        final long estimate;
+
+        Candidate(AccessPath path, List<EmployeeQuery.Condition> covered, long estimate) {
+            this.path = path;
+            this.covered = covered;
+            this.estimate = estimate;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.Employee;
+
+import java.util.List;
+
+/**
+ * Employees returned by a query, with the plan the planner chose for it
+ */
+public class QueryResult {
+
+    private final List<Employee> employees;
+    private final String accessPath;
+    private final long estimatedRows;
+    private final String plan;
+    private final long elapsedNanos;
+
+    QueryResult(List<Employee> employees, String accessPath, long estimatedRows, String plan, long elapsedNanos) {
+        this.employees = employees;
+        this.accessPath = accessPath;
+        this.estimatedRows = estimatedRows;
+        this.plan = plan;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Employee> getEmployees() { return employees; }
+
+    public int getRowCount() { return employees.size(); }
+
+    /**
+     * Index or scan the rows were read from, such as SALARY_INDEX or FULL_SCAN
+     */
+    public String getAccessPath() { return accessPath; }
+
+    /**
+     * Rows the planner expected the query to return before the limit
+     */
+    public long getEstimatedRows() { return estimatedRows; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * The chosen plan, one step per line, with estimated and actual rows per step
+     */
+    public String explain() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows via %s (estimated %,d) in %.3f s",
+                employees.size(), accessPath, estimatedRows, elapsedNanos / 1e9);
+    }
+}
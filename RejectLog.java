@@ -0,0 +1,72 @@
+package com.harshitha.pdfreport.data;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects malformed CSV rows during a lenient load.
+ * Each reject is written to an optional reject file as a CSV row of line number,
+ * reason and the original record. Once more rows than the error budget allows have
+ * been rejected the load is aborted. Safe to share between parser threads.
+ */
+class RejectLog implements Closeable {
+
+    private final BufferedWriter writer;
+    private final long maxRejects;
+    private final AtomicLong rejected = new AtomicLong();
+
+    RejectLog(Path rejectFile, long maxRejects) throws IOException {
+        this.maxRejects = maxRejects;
+        if (rejectFile != null) {
+            this.writer = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+            writer.write("line,reason,record");
+            writer.newLine();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Record a malformed row. Throws once the error budget is exhausted.
+     */
+    void reject(long lineNumber, String reason, String record) {
+        long count = rejected.incrementAndGet();
+        if (writer != null) {
+            synchronized (writer) {
+                try {
+                    writer.write(lineNumber + "," + quote(reason) + "," + quote(record));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        if (count > maxRejects) {
+            throw new UncheckedIOException(new IOException("Aborting load: " + count +
+                    " malformed rows exceed the error budget of " + maxRejects + " (last at line " + lineNumber + ")"));
+        }
+    }
+
+    long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            synchronized (writer) {
+                writer.close();
+            }
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + String.valueOf(value).replace("\"", "\"\"") + "\"";
+    }
+}
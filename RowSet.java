@@ -0,0 +1,131 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.Arrays;
+
+/**
+ * Persistent sorted set of row slots, held as sorted chunks of at most CHUNK_SIZE
+ * slots. Adding or removing a slot copies one chunk and the array of chunk
+ * references, so a change costs time proportional to the chunk size and the number
+ * of chunks rather than to the size of the set. Immutable once built.
+ */
+final class RowSet {
+
+    static final RowSet EMPTY = new RowSet(new int[0][], 0);
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final int[][] chunks; // Each sorted and non-empty, in order
+    private final int size;
+
+    private RowSet(int[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * The set of sorted, distinct slots. Chunks start half full, so later additions
+     * rarely split them.
+     */
+    static RowSet of(int[] sortedSlots) {
+        int half = CHUNK_SIZE / 2;
+        int[][] chunks = new int[(sortedSlots.length + half - 1) / half][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = Arrays.copyOfRange(sortedSlots, c * half, Math.min(sortedSlots.length, (c + 1) * half));
+        }
+        return new RowSet(chunks, sortedSlots.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * The slots in ascending order, in a new array
+     */
+    int[] toArray() {
+        int[] slots = new int[size];
+        int position = 0;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, slots, position, chunk.length);
+            position += chunk.length;
+        }
+        return slots;
+    }
+
+    /**
+     * This set with the slot added
+     */
+    RowSet with(int slot) {
+        if (chunks.length == 0) {
+            return new RowSet(new int[][] {{slot}}, 1);
+        }
+        int c = chunkFor(slot);
+        int[] chunk = chunks[c];
+        int index = Arrays.binarySearch(chunk, slot);
+        if (index >= 0) {
+            return this;
+        }
+        index = -index - 1;
+        int[] grown = new int[chunk.length + 1];
+        System.arraycopy(chunk, 0, grown, 0, index);
+        grown[index] = slot;
+        System.arraycopy(chunk, index, grown, index + 1, chunk.length - index);
+
+        if (grown.length <= CHUNK_SIZE) {
+            int[][] next = chunks.clone();
+            next[c] = grown;
+            return new RowSet(next, size + 1);
+        }
+        // Split a full chunk in two
+        int[][] next = new int[chunks.length + 1][];
+        System.arraycopy(chunks, 0, next, 0, c);
+        next[c] = Arrays.copyOfRange(grown, 0, grown.length / 2);
+        next[c + 1] = Arrays.copyOfRange(grown, grown.length / 2, grown.length);
+        System.arraycopy(chunks, c + 1, next, c + 2, chunks.length - c - 1);
+        return new RowSet(next, size + 1);
+    }
+
+    /**
+     * This set without the slot
+     */
+    RowSet without(int slot) {
+        if (chunks.length == 0) {
+            return this;
+        }
+        int c = chunkFor(slot);
+        int[] chunk = chunks[c];
+        int index = Arrays.binarySearch(chunk, slot);
+        if (index < 0) {
+            return this;
+        }
+        if (chunk.length == 1) {
+            int[][] next = new int[chunks.length - 1][];
+            System.arraycopy(chunks, 0, next, 0, c);
+            System.arraycopy(chunks, c + 1, next, c, next.length - c);
+            return new RowSet(next, size - 1);
+        }
+        int[] shrunk = new int[chunk.length - 1];
+        System.arraycopy(chunk, 0, shrunk, 0, index);
+        System.arraycopy(chunk, index + 1, shrunk, index, shrunk.length - index);
+        int[][] next = chunks.clone();
+        next[c] = shrunk;
+        return new RowSet(next, size - 1);
+    }
+
+    /**
+     * The last chunk whose first slot is not above 'slot', or the first chunk
+     */
+    private int chunkFor(int slot) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunks[mid][0] <= slot) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,151 @@
+package com.harshitha.pdfreport.data;
+
+import com.harshitha.pdfreport.model.EmployeeView;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows sorted by salary, highest first, as parallel primitive arrays. Threshold,
+ * range and rank queries are binary searches, and their rows come back in salary
+ * order. Rows with equal salaries keep their list order. Immutable once built.
+ */
+final class SalaryIndex {
+
+    private final double[] salaries; // Descending
+    private final int[] rows;        // Row of each salary
+
+    private SalaryIndex(double[] salaries, int[] rows) {
+        this.salaries = salaries;
+        this.rows = rows;
+    }
+
+    /**
+     * Index the salaries of the employees by their position in the list; null entries
+     * are rows that were removed
+     */
+    static SalaryIndex build(List<? extends EmployeeView> employees) {
+        double[] byRow = new double[employees.size()];
+        int[] order = new int[employees.size()];
+        int n = 0;
+        for (int row = 0; row < byRow.length; row++) {
+            EmployeeView emp = employees.get(row);
+            if (emp != null) {
+                byRow[row] = emp.getSalary();
+                order[n++] = row;
+            }
+        }
+        order = sortBySalary(n == order.length ? order : Arrays.copyOf(order, n), byRow);
+
+        double[] sorted = new double[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = byRow[order[i]];
+        }
+        return new SalaryIndex(sorted, order);
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Number of rows with a salary above x; they are the first ones in the index
+     */
+    int countAbove(double x) {
+        // First position whose salary is not above x
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] > x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Number of rows with a salary of at least x
+     */
+    int countAtLeast(double x) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rows with a salary above x, highest first
+     */
+    int[] rowsAbove(double x) {
+        return Arrays.copyOf(rows, countAbove(x));
+    }
+
+    /**
+     * Rows with a salary from min to max inclusive, highest first
+     */
+    int[] rowsBetween(double min, double max) {
+        int from = countAbove(max);
+        int to = countAtLeast(min);
+        return from < to ? Arrays.copyOfRange(rows, from, to) : new int[0];
+    }
+
+    /**
+     * Rows at positions from one up to but excluding another, in salary order
+     */
+    int[] rows(int from, int to) {
+        return from < to ? Arrays.copyOfRange(rows, from, to) : new int[0];
+    }
+
+    /**
+     * Row at a position in salary order, 0 being the highest paid
+     */
+    int row(int position) {
+        return rows[position];
+    }
+
+    double salary(int position) {
+        return salaries[position];
+    }
+
+    /**
+     * Stable bottom-up merge sort of row numbers by descending salary
+     */
+    private static int[] sortBySalary(int[] order, double[] salaryByRow) {
+        int n = order.length;
+        int[] source = order;
+        int[] target = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int start = 0; start < n; start += 2 * width) {
+                int mid = Math.min(start + width, n);
+                int end = Math.min(start + 2 * width, n);
+                int i = start;
+                int j = mid;
+                int k = start;
+                while (i < mid && j < end) {
+                    // Take from the left run on ties to keep the list order
+                    target[k++] = salaryByRow[source[j]] > salaryByRow[source[i]] ? source[j++] : source[i++];
+                }
+                while (i < mid) {
+                    target[k++] = source[i++];
+                }
+                while (j < end) {
+                    target[k++] = source[j++];
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+}
@@ -0,0 +1,80 @@
+package com.harshitha.pdfreport.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A column of strings stored as UTF-8 bytes in one shared arena.
+ * Row i occupies bytes [offsets[i], offsets[i + 1]), so a million values cost two
+ * arrays instead of a million String objects. Strings are only created when a
+ * row is read.
+ */
+final class StringColumn {
+
+    private byte[] bytes;
+    private int[] offsets;
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    StringColumn(int initialRows) {
+        this.bytes = new byte[Math.max(16, initialRows * 8)];
+        this.offsets = new int[initialRows + 1];
+    }
+
+    void add(String value) {
+        if (size + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int end = offsets[size];
+        if (value == null) {
+            nulls.set(size);
+        } else {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            ensureBytes(end + encoded.length);
+            System.arraycopy(encoded, 0, bytes, end, encoded.length);
+            end += encoded.length;
+        }
+        offsets[++size] = end;
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        int start = offsets[row];
+        return new String(bytes, start, offsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Release spare capacity once the column is fully built
+     */
+    void trimToSize() {
+        bytes = Arrays.copyOf(bytes, offsets[size]);
+        offsets = Arrays.copyOf(offsets, size + 1);
+    }
+
+    /**
+     * Approximate heap bytes held by the column
+     */
+    long memoryUsage() {
+        return 16L + bytes.length + 4L * offsets.length + nulls.size() / 8;
+    }
+
+    private void ensureBytes(int capacity) {
+        if (capacity > bytes.length) {
+            long grown = Math.max(capacity, bytes.length * 2L);
+            if (grown > Integer.MAX_VALUE - 8) {
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("String column exceeds 2 GB");
+                }
+                grown = Integer.MAX_VALUE - 8;
+            }
+            bytes = Arrays.copyOf(bytes, (int) grown);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.harshitha.pdfreport.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small int codes to the distinct values of a low-cardinality column.
+ * Codes are dense, starting at 0 in order of first appearance; null is encoded as -1.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Code for the value, adding it to the dictionary if it is new
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Code for the value, or -1 when it does not occur
+     */
+    int lookup(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Mask indexed by code of the values equal to 'value' ignoring case. Only the
+     * distinct values are compared, so callers can filter rows on codes alone.
+     */
+    boolean[] matchIgnoreCase(String value) {
+        boolean[] mask = new boolean[values.size()];
+        for (int code = 0; code < mask.length; code++) {
+            mask[code] = values.get(code).equalsIgnoreCase(value);
+        }
+        return mask;
+    }
+}
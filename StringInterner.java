@@ -0,0 +1,76 @@
+package com.harshitha.pdfreport.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns repeated field bytes into one shared String per distinct value.
+ * A small direct-mapped cache keyed by the raw bytes answers repeats without
+ * allocating; misses go through a map so equal values always share an instance.
+ * Meant for low-cardinality columns such as department; not thread-safe.
+ */
+final class StringInterner {
+
+    private static final int SLOTS = 512;
+    // Longer values are unlikely to repeat and are decoded as usual
+    private static final int MAX_LENGTH = 64;
+    // Past this many distinct values the column is not low-cardinality; stop growing the map
+    private static final int MAX_VALUES = 4096;
+
+    private final byte[][] keys = new byte[SLOTS][];
+    private final String[] values = new String[SLOTS];
+    private final Map<String, String> canonical = new HashMap<>();
+
+    /**
+     * The String for the UTF-8 bytes in [start, end) of the buffer
+     */
+    String intern(ByteBuffer buf, int start, int end) {
+        int length = end - start;
+        if (length > MAX_LENGTH) {
+            return decode(buf, start, length);
+        }
+        int hash = length;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buf.get(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+        byte[] key = keys[slot];
+        if (key != null && matches(key, buf, start, length)) {
+            return values[slot];
+        }
+
+        byte[] bytes = new byte[length];
+        buf.get(start, bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        String shared = canonical.get(value);
+        if (shared == null) {
+            shared = value;
+            if (canonical.size() < MAX_VALUES) {
+                canonical.put(value, value);
+            }
+        }
+        keys[slot] = bytes;
+        values[slot] = shared;
+        return shared;
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer buf, int start, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buf.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buf, int start, int length) {
+        byte[] bytes = new byte[length];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}